@@ -0,0 +1,101 @@
+package chat.apigatewayserver.config;
+
+import chat.common.token.TokenRevocationEvent;
+import chat.common.token.TokenRevocationListener;
+import chat.common.token.TokenRevocationRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 토큰 폐기 이벤트를 수신하기 위한 Kafka 소비자 설정.
+ * jwt.revocation.kafka.enabled=true 일 때만 등록되며, 꺼져 있으면 폐기 목록이 비어 있어 JWT 서명/만료 검증만 수행함.
+ */
+@EnableKafka
+@Configuration
+@ConditionalOnProperty(name = "jwt.revocation.kafka.enabled", havingValue = "true")
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${server.port:8000}")
+    private String serverPort;
+
+    /**
+     * 토큰 폐기 이벤트 소비자 팩토리.
+     * 폐기 목록은 모든 게이트웨이 노드가 가져야 하므로 노드마다 고유한 그룹 ID를 사용함.
+     *
+     * @return ConsumerFactory<String, TokenRevocationEvent>
+     */
+    @Bean
+    public ConsumerFactory<String, TokenRevocationEvent> tokenRevocationConsumerFactory() {
+        JsonDeserializer<TokenRevocationEvent> deserializer = new JsonDeserializer<>(TokenRevocationEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "token_revocation_group-" + resolveNodeId());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // 시작 위치는 리스너가 지정함
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer);
+    }
+
+    /**
+     * 토큰 폐기 이벤트 리스너 컨테이너 팩토리.
+     *
+     * @return ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent>
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> tokenRevocationKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(tokenRevocationConsumerFactory());
+        return factory;
+    }
+
+    /**
+     * 토큰 폐기 이벤트 리스너를 등록하는 Bean.
+     * 시작 시 토큰 유효 기간만큼 이전 시점부터 폐기 이벤트를 다시 읽음.
+     *
+     * @param tokenRevocationRegistry 폐기 목록
+     * @param validityInMinutes       액세스 토큰 유효 기간(분)
+     * @return TokenRevocationListener
+     */
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(TokenRevocationRegistry tokenRevocationRegistry,
+                                                           @Value("${jwt.access.expiration.minutes}") long validityInMinutes) {
+        return new TokenRevocationListener(tokenRevocationRegistry, validityInMinutes);
+    }
+
+    /**
+     * 현재 노드를 식별하는 값을 반환 (호스트명과 포트).
+     *
+     * @return 노드 식별자
+     */
+    private String resolveNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + serverPort;
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
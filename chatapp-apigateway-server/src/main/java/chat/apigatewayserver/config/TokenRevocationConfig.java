@@ -0,0 +1,18 @@
+package chat.apigatewayserver.config;
+
+import chat.common.token.TokenRevocationRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 공통 모듈의 토큰 폐기 목록을 빈으로 등록하는 설정.
+ * 폐기 목록은 Kafka 리스너 유무와 관계없이 JWT 검증에 항상 필요하므로 별도 설정으로 분리함.
+ */
+@Configuration
+public class TokenRevocationConfig {
+
+    @Bean
+    public TokenRevocationRegistry tokenRevocationRegistry() {
+        return new TokenRevocationRegistry();
+    }
+}
@@ -0,0 +1,14 @@
+package chat.apigatewayserver.config;
+
+import chat.apigatewayserver.loadbalancer.RoomAffinityLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * lb://websocket-service 라우트에 채팅방 기준 consistent hashing 로드 밸런서를 적용함.
+ * 다른 서비스는 기본 로드 밸런서(round-robin)를 그대로 사용함.
+ */
+@Configuration
+@LoadBalancerClient(name = "websocket-service", configuration = RoomAffinityLoadBalancerConfiguration.class)
+public class WebSocketLoadBalancerConfig {
+}
@@ -36,7 +36,8 @@ public class JwtAuthenticationGatewayFilterFactory extends AbstractGatewayFilter
                     "/users/login",
                     "/users/register",
                     "/users/kakao-login",
-                    "/ws/**"
+                    "/ws/**",
+                    "/ws-native/**"
             };
 
             // 현재 요청 경로가 인증을 건너뛰어야 하는지 확인
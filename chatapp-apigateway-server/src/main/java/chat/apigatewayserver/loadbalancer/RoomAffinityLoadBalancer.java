@@ -0,0 +1,297 @@
+package chat.apigatewayserver.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 웹소켓 연결을 채팅방 기준으로 분배하는 로드 밸런서 (consistent hashing with bounded loads).
+ * 핸드셰이크 쿼리의 roomId를 해시 링(인스턴스마다 여러 개의 가상 노드)에 올려 같은 채팅방의 연결이
+ * 같은 노드로 모이도록 하므로, 각 노드는 자신에게 모인 채팅방의 트래픽만 처리하면 됨.
+ * 한 노드에 연결이 몰리지 않도록 노드당 연결 수를 (평균 연결 수 x loadFactor)로 제한하고,
+ * 한도에 도달한 노드는 건너뛰어 링의 다음 노드를 선택함. 따라서 큰 채팅방도 소수의 노드에만 나뉘어 배치됨.
+ * roomId가 없으면 SockJS 세션 ID를 키로 사용하여 같은 세션의 HTTP 폴백 요청이 같은 노드로 가도록 하고,
+ * 둘 다 없으면 연결 수가 가장 적은 노드를 선택함.
+ * 노드별 연결 수는 게이트웨이 필터의 시작/완료 시점(LoadBalancerLifecycle)으로 이 게이트웨이 인스턴스에서 집계함.
+ * 한도 확인과 연결 수 증가는 CAS 한 번으로 함께 처리하므로, 동시에 들어온 연결도 한도를 넘기지 않음.
+ */
+public class RoomAffinityLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAffinityLoadBalancer.class);
+
+    private static final String ROOM_ID_PARAMETER = "roomId";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+    private final String serviceId;
+    private final int virtualNodes;
+    private final double loadFactor;
+
+    // 인스턴스 키 -> 이 게이트웨이를 통해 열려 있는 연결 수
+    private final Map<String, AtomicInteger> activeConnections = new ConcurrentHashMap<>();
+    private volatile HashRing ring = HashRing.EMPTY;
+
+    /**
+     * @param serviceInstanceListSupplierProvider 서비스 인스턴스 목록 제공자
+     * @param serviceId                           대상 서비스 ID
+     * @param virtualNodes                        인스턴스당 해시 링에 올리는 가상 노드 수
+     * @param loadFactor                          평균 대비 노드당 허용 연결 수 배율 (1보다 커야 함)
+     */
+    public RoomAffinityLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+                                    String serviceId, int virtualNodes, double loadFactor) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        if (loadFactor <= 1.0) {
+            throw new IllegalArgumentException("loadFactor must be greater than 1.0: " + loadFactor);
+        }
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+        this.serviceId = serviceId;
+        this.virtualNodes = virtualNodes;
+        this.loadFactor = loadFactor;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String hashKey = hashKey(request);
+        return supplier.get(request).next().map(instances -> select(instances, hashKey));
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+    }
+
+    /**
+     * 연결(요청)이 끝나면 선택 시점에 늘린 노드의 연결 수를 줄임.
+     */
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        String key = instanceKey(lbResponse.getServer());
+        AtomicInteger connections = activeConnections.get(key);
+        if (connections != null && connections.updateAndGet(count -> Math.max(0, count - 1)) == 0
+                && !ring.keys.contains(key)) {
+            // 목록에서 빠진 인스턴스의 마지막 연결이 끝나면 집계를 정리함
+            activeConnections.remove(key, connections);
+        }
+    }
+
+    /**
+     * 연결 수가 한도보다 작을 때만 하나 늘림.
+     *
+     * @return 늘렸으면 true
+     */
+    private static boolean tryReserve(AtomicInteger connections, int capacity) {
+        while (true) {
+            int current = connections.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (connections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances, String hashKey) {
+        if (instances.isEmpty()) {
+            logger.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        HashRing current = ringFor(instances);
+
+        int total = 0;
+        for (ServiceInstance instance : current.instances) {
+            total += connectionsOf(instance).get();
+        }
+        // 새 연결을 포함한 평균 연결 수에 배율을 곱한 값이 노드당 한도임 (모든 노드가 한도에 도달할 수는 없음)
+        int capacity = (int) Math.ceil(loadFactor * (total + 1) / current.instances.size());
+
+        // 한도 안에 있는 노드의 연결 수를 조건 확인과 동시에 늘림 (선택된 노드는 이미 예약됨)
+        ServiceInstance selected = hashKey != null
+                ? current.locate(hash(hashKey), instance -> tryReserve(connectionsOf(instance), capacity))
+                : null;
+        if (selected == null) {
+            selected = current.instances.stream()
+                    .min(Comparator.comparingInt(instance -> connectionsOf(instance).get()))
+                    .orElseThrow();
+            connectionsOf(selected).incrementAndGet();
+        }
+        logger.debug("Routing key {} of service {} to {} (capacity {})", hashKey, serviceId, instanceKey(selected), capacity);
+        return new DefaultResponse(selected);
+    }
+
+    /**
+     * 인스턴스 목록이 바뀌었을 때만 해시 링을 다시 만듦.
+     * 목록에서 잠시 빠진 인스턴스도 열린 연결은 그대로 남아 있으므로, 연결 수는 0이 된 뒤에만 제거함.
+     */
+    private HashRing ringFor(List<ServiceInstance> instances) {
+        HashRing current = ring;
+        Set<String> keys = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            keys.add(instanceKey(instance));
+        }
+        if (current.keys.equals(keys)) {
+            return current;
+        }
+        HashRing rebuilt = new HashRing(instances, keys, virtualNodes);
+        ring = rebuilt;
+        activeConnections.entrySet().removeIf(entry -> !keys.contains(entry.getKey()) && entry.getValue().get() == 0);
+        logger.info("Rebuilt hash ring of service {} with {} instances", serviceId, keys.size());
+        return rebuilt;
+    }
+
+    private AtomicInteger connectionsOf(ServiceInstance instance) {
+        return activeConnections.computeIfAbsent(instanceKey(instance), key -> new AtomicInteger());
+    }
+
+    /**
+     * 요청 URL에서 해시 키를 추출함. roomId 쿼리 파라미터를 우선 사용하고,
+     * 없으면 SockJS 전송 경로("/ws/{server}/{session}/{transport}")의 세션 ID를 사용함.
+     */
+    private static String hashKey(Request request) {
+        Object context = request.getContext();
+        if (!(context instanceof RequestDataContext)) {
+            return null;
+        }
+        RequestDataContext requestDataContext = (RequestDataContext) context;
+        if (requestDataContext.getClientRequest() == null || requestDataContext.getClientRequest().getUrl() == null) {
+            return null;
+        }
+        URI url = requestDataContext.getClientRequest().getUrl();
+        String roomId = UriComponentsBuilder.fromUri(url).build().getQueryParams().getFirst(ROOM_ID_PARAMETER);
+        if (roomId != null && !roomId.isEmpty()) {
+            return "room:" + roomId;
+        }
+        String[] segments = url.getPath() != null ? url.getPath().split("/") : new String[0];
+        // ["", "ws", server, session, transport]
+        if (segments.length == 5 && "ws".equals(segments[1])) {
+            return "sockjs:" + segments[3];
+        }
+        return null;
+    }
+
+    private static String instanceKey(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * 64비트 FNV-1a 해시에 비트 섞기(SplitMix64 최종 단계)를 더해 링 위에 고르게 분산시킴.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * 인스턴스마다 여러 개의 가상 노드를 올린 해시 링. 생성 후 변경하지 않음.
+     */
+    private static final class HashRing {
+
+        private static final HashRing EMPTY = new HashRing(List.of(), Set.of(), 1);
+
+        private final List<ServiceInstance> instances;
+        private final Set<String> keys;
+        // 정렬된 가상 노드 해시와 같은 위치의 인스턴스
+        private final long[] points;
+        private final ServiceInstance[] owners;
+
+        private HashRing(List<ServiceInstance> instances, Set<String> keys, int virtualNodes) {
+            this.instances = new ArrayList<>(instances);
+            this.keys = keys;
+
+            List<VirtualNode> nodes = new ArrayList<>(instances.size() * virtualNodes);
+            for (ServiceInstance instance : instances) {
+                String instanceKey = instanceKey(instance);
+                for (int i = 0; i < virtualNodes; i++) {
+                    nodes.add(new VirtualNode(hash(instanceKey + "#" + i), instance));
+                }
+            }
+            nodes.sort(Comparator.comparingLong(node -> node.hash));
+            this.points = new long[nodes.size()];
+            this.owners = new ServiceInstance[nodes.size()];
+            for (int i = 0; i < nodes.size(); i++) {
+                points[i] = nodes.get(i).hash;
+                owners[i] = nodes.get(i).owner;
+            }
+        }
+
+        /**
+         * 해시 위치에서 시계 방향으로 링을 따라가며 조건을 만족하는 첫 인스턴스를 찾음.
+         *
+         * @return 조건을 만족하는 인스턴스, 없으면 null
+         */
+        private ServiceInstance locate(long hash, Predicate<ServiceInstance> accept) {
+            if (points.length == 0) {
+                return null;
+            }
+            int start = Arrays.binarySearch(points, hash);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            Set<String> visited = new HashSet<>();
+            for (int i = 0; i < points.length && visited.size() < instances.size(); i++) {
+                ServiceInstance candidate = owners[(start + i) % points.length];
+                if (visited.add(instanceKey(candidate)) && accept.test(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class VirtualNode {
+
+        private final long hash;
+        private final ServiceInstance owner;
+
+        private VirtualNode(long hash, ServiceInstance owner) {
+            this.hash = hash;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package chat.apigatewayserver.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * websocket-service 전용 로드 밸런서 설정.
+ * 서비스별 하위 컨텍스트에서만 사용되어야 하므로 @Configuration을 붙이지 않고
+ * WebSocketLoadBalancerConfig의 @LoadBalancerClient로만 등록함.
+ */
+public class RoomAffinityLoadBalancerConfiguration {
+
+    @Bean
+    public RoomAffinityLoadBalancer roomAffinityLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            @Value("${websocket.load-balancer.virtual-nodes:160}") int virtualNodes,
+            @Value("${websocket.load-balancer.load-factor:1.25}") double loadFactor) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new RoomAffinityLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId, virtualNodes, loadFactor);
+    }
+}
@@ -1,5 +1,9 @@
 package chat.apigatewayserver.util;
 
+import chat.common.token.TokenRevocationRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -10,8 +14,14 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -22,31 +32,65 @@ public class JwtTokenProvider {
     @Value("${jwt.access.expiration.minutes}")
     private long jwtExpirationInMinutes;
 
+    @Value("${jwt.claims-cache.maximum-size:100000}")
+    private long claimsCacheMaximumSize;
+
     private Key key;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    /**
+     * 토큰 해시 -> 검증된 클레임. 각 항목은 토큰 만료 시각에 제거됨.
+     */
+    private Cache<String, VerifiedClaims> claimsCache;
+
+    public JwtTokenProvider(TokenRevocationRegistry tokenRevocationRegistry) {
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
     /**
-     * 프로퍼티가 설정된 후 서명 키를 초기화.
+     * 프로퍼티가 설정된 후 서명 키와 클레임 캐시를 초기화.
      */
     @PostConstruct
     public void init() {
         // 비밀 키를 적절히 인코딩하여 서명 키로 변환
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes());
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+                        long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
     /**
      * JWT 토큰의 유효성을 검증.
+     * 이미 검증되어 캐시된 토큰은 별도 스레드 전환 없이 바로 결과를 반환하며,
+     * 폐기 여부는 메모리 내 폐기 목록으로 확인하므로 네트워크 호출이 없음.
      *
      * @param token 검증할 JWT 토큰
      * @return 유효하면 true, 그렇지 않으면 false를 방출하는 Mono<Boolean>
      */
     public Mono<Boolean> validateToken(String token) {
-        return Mono.fromCallable(() -> {
-                    Jwts.parserBuilder()
-                            .setSigningKey(key)
-                            .build()
-                            .parseClaimsJws(token);
-                    return true;
-                })
+        VerifiedClaims cached = getCachedClaims(token);
+        if (cached != null) {
+            return Mono.just(!isRevoked(cached));
+        }
+        return Mono.fromCallable(() -> !isRevoked(resolveClaims(token)))
                 .onErrorResume(e -> Mono.just(false))
                 .subscribeOn(Schedulers.boundedElastic());
     }
@@ -58,8 +102,7 @@ public class JwtTokenProvider {
      * @return 토큰에서 추출한 사용자명
      */
     public String getUsername(String token) {
-        Claims claims = parseClaims(token);
-        return claims.getSubject();
+        return resolveClaims(token).getUsername();
     }
 
     /**
@@ -69,17 +112,11 @@ public class JwtTokenProvider {
      * @return 토큰에서 추출한 사용자 ID
      */
     public Long getUserId(String token) {
-        Claims claims = parseClaims(token);
-        Object userId = claims.get("userId");
-        if (userId instanceof Integer) {
-            return ((Integer) userId).longValue();
-        } else if (userId instanceof Long) {
-            return (Long) userId;
-        } else if (userId instanceof String) {
-            return Long.parseLong((String) userId);
-        } else {
+        Long userId = resolveClaims(token).getUserId();
+        if (userId == null) {
             throw new IllegalArgumentException("토큰 내 userId 타입이 유효하지 않습니다.");
         }
+        return userId;
     }
 
     /**
@@ -94,6 +131,7 @@ public class JwtTokenProvider {
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMinutes * 60 * 1000); // 분을 밀리초로 변환
 
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 식별하기 위한 jti
                 .setSubject(username)
                 .claim("userId", userId)
                 .setIssuedAt(now)
@@ -102,6 +140,53 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * 캐시된 클레임을 반환하거나, 없으면 토큰을 파싱하여 서명을 검증한 뒤 캐시에 저장.
+     *
+     * @param token JWT 토큰
+     * @return 검증된 클레임
+     */
+    private VerifiedClaims resolveClaims(String token) {
+        VerifiedClaims cached = getCachedClaims(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parseClaims(token);
+        Date expiration = claims.getExpiration();
+        long expiresAtMillis = expiration != null
+                ? expiration.getTime()
+                : System.currentTimeMillis() + jwtExpirationInMinutes * 60 * 1000;
+        VerifiedClaims verified = new VerifiedClaims(claims.getSubject(), toUserId(claims.get("userId")), claims.getId(),
+                expiresAtMillis);
+        claimsCache.put(hashToken(token), verified);
+        return verified;
+    }
+
+    /**
+     * 토큰이 로그아웃으로 폐기되었는지 확인. jti가 없는 이전 토큰은 폐기 여부를 알 수 없으므로 유효로 간주.
+     *
+     * @param claims 검증된 클레임
+     * @return 폐기되었으면 true
+     */
+    private boolean isRevoked(VerifiedClaims claims) {
+        return claims.getJti() != null && tokenRevocationRegistry.isRevoked(claims.getJti());
+    }
+
+    /**
+     * 만료되지 않은 캐시된 클레임을 조회.
+     *
+     * @param token JWT 토큰
+     * @return 캐시된 클레임, 없거나 만료되었으면 null
+     */
+    private VerifiedClaims getCachedClaims(String token) {
+        VerifiedClaims cached = claimsCache.getIfPresent(hashToken(token));
+        if (cached != null && cached.getExpiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+        return null;
+    }
+
     /**
      * JWT 토큰을 파싱하여 클레임을 반환.
      *
@@ -115,4 +200,30 @@ public class JwtTokenProvider {
                 .parseClaimsJws(token)
                 .getBody();
     }
+
+    private Long toUserId(Object userId) {
+        if (userId instanceof Integer) {
+            return ((Integer) userId).longValue();
+        } else if (userId instanceof Long) {
+            return (Long) userId;
+        } else if (userId instanceof String) {
+            return Long.parseLong((String) userId);
+        }
+        return null;
+    }
+
+    /**
+     * 원본 토큰을 메모리에 보관하지 않도록 SHA-256 해시를 캐시 키로 사용.
+     *
+     * @param token JWT 토큰
+     * @return 토큰 해시
+     */
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package chat.apigatewayserver.util;
+
+/**
+ * 서명 검증이 끝난 JWT에서 추출한 클레임.
+ * 같은 토큰을 다시 검증할 때 파싱과 HMAC 검증을 생략하기 위해 캐시에 보관됨.
+ */
+public class VerifiedClaims {
+
+    private final String username;
+    private final Long userId;
+    private final String jti;
+    private final long expiresAtMillis;
+
+    public VerifiedClaims(String username, Long userId, String jti, long expiresAtMillis) {
+        this.username = username;
+        this.userId = userId;
+        this.jti = jti;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+}
@@ -3,7 +3,8 @@ package chat.apigatewayserver;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// 컨텍스트 로딩만 확인하므로 Kafka 없이 기동하도록 토큰 폐기 리스너를 끔
+@SpringBootTest(properties = "jwt.revocation.kafka.enabled=false")
 class ChatappApigatewayServerApplicationTests {
 
     @Test
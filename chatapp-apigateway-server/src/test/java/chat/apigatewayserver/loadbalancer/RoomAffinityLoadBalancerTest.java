@@ -0,0 +1,172 @@
+package chat.apigatewayserver.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 채팅방 기준 해시 링과 노드당 연결 수 한도(bounded loads)를 확인하는 테스트.
+ */
+class RoomAffinityLoadBalancerTest {
+
+    private static final String SERVICE_ID = "websocket-service";
+    private static final double LOAD_FACTOR = 1.25;
+
+    private final List<ServiceInstance> instances = new CopyOnWriteArrayList<>(List.of(
+            instance("ws-1"), instance("ws-2"), instance("ws-3"), instance("ws-4")));
+
+    private final RoomAffinityLoadBalancer loadBalancer = new RoomAffinityLoadBalancer(
+            new StaticListableBeanFactory(Map.of("supplier", supplier())).getBeanProvider(ServiceInstanceListSupplier.class),
+            SERVICE_ID, 160, LOAD_FACTOR);
+
+    @Test
+    void sameRoomRoutesToSameInstanceWhileBelowCapacity() {
+        // 여러 채팅방에 한 번씩 연결하여 평균을 올린 뒤, 같은 채팅방은 항상 같은 노드로 가는지 확인함
+        for (int room = 0; room < 40; room++) {
+            choose(room);
+        }
+        String first = choose(7);
+        complete(first);
+        assertEquals(first, choose(7));
+    }
+
+    @Test
+    void roomsSpreadOverAllInstances() {
+        Map<String, Integer> rooms = new HashMap<>();
+        for (int room = 0; room < 1000; room++) {
+            String selected = choose(room);
+            complete(selected);
+            rooms.merge(selected, 1, Integer::sum);
+        }
+        assertEquals(4, rooms.size());
+        rooms.values().forEach(count -> assertTrue(count > 150, "uneven ring: " + rooms));
+    }
+
+    @Test
+    void hotRoomSpillsToNextInstancesWithinBound() {
+        Map<String, Integer> load = new HashMap<>();
+        int connections = 1000;
+        for (int i = 0; i < connections; i++) {
+            load.merge(choose(42), 1, Integer::sum);
+        }
+        int capacity = (int) Math.ceil(LOAD_FACTOR * connections / instances.size());
+        load.values().forEach(count -> assertTrue(count <= capacity, "over capacity: " + load));
+        // 한도 때문에 한 노드에 모두 모이지 않고 다음 노드로 넘어감
+        assertTrue(load.size() > 1);
+    }
+
+    @Test
+    void concurrentSelectionsNeverExceedBound() throws InterruptedException {
+        int threads = 8;
+        int perThread = 500;
+        List<String> selected = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    selected.add(choose(42));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Map<String, Integer> load = new HashMap<>();
+        selected.forEach(instanceId -> load.merge(instanceId, 1, Integer::sum));
+        int capacity = (int) Math.ceil(LOAD_FACTOR * selected.size() / instances.size());
+        load.values().forEach(count -> assertTrue(count <= capacity, "over capacity: " + load));
+    }
+
+    @Test
+    void connectionCountsSurviveBriefRemovalFromRegistry() {
+        Map<String, Integer> load = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            load.merge(choose(42), 1, Integer::sum);
+        }
+
+        // 인스턴스가 잠시 목록에서 빠졌다가 돌아와도 열린 연결 수는 유지되어야 함
+        ServiceInstance flapping = instances.get(0);
+        instances.remove(flapping);
+        load.merge(choose(1), 1, Integer::sum);
+        instances.add(flapping);
+
+        for (int i = 0; i < 100; i++) {
+            load.merge(choose(42), 1, Integer::sum);
+        }
+        int total = load.values().stream().mapToInt(Integer::intValue).sum();
+        int capacity = (int) Math.ceil(LOAD_FACTOR * total / instances.size());
+        load.values().forEach(count -> assertTrue(count <= capacity, "over capacity: " + load));
+    }
+
+    private String choose(long roomId) {
+        Request<RequestDataContext> request = request(roomId);
+        Response<ServiceInstance> response = loadBalancer.choose(request).block();
+        return response.getServer().getInstanceId();
+    }
+
+    private void complete(String instanceId) {
+        ServiceInstance server = instances.stream().filter(i -> i.getInstanceId().equals(instanceId)).findFirst().orElseThrow();
+        loadBalancer.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+                CompletionContext.Status.SUCCESS, request(0), new DefaultResponse(server)));
+    }
+
+    private static Request<RequestDataContext> request(long roomId) {
+        URI url = URI.create("http://gateway/ws/websocket?roomId=" + roomId);
+        return new DefaultRequest<>(new RequestDataContext(new RequestData(HttpMethod.GET, url, new HttpHeaders(),
+                new LinkedMultiValueMap<>(), new HashMap<>())));
+    }
+
+    private ServiceInstanceListSupplier supplier() {
+        return new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return SERVICE_ID;
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.defer(() -> Flux.just(new ArrayList<>(instances)));
+            }
+        };
+    }
+
+    private static ServiceInstance instance(String instanceId) {
+        return new DefaultServiceInstance(instanceId, SERVICE_ID, instanceId, 8080, false);
+    }
+}
@@ -167,7 +167,8 @@ public class ChatRoomService {
      */
     private void publishEvent(ActionType action, ChatRoom chatRoom) {
         ChatRoomEvent event = new ChatRoomEvent(action, chatRoom);
-        kafkaTemplate.send(CHAT_ROOM_TOPIC, event);
+        // roomId를 키로 사용하여 같은 채팅방의 이벤트가 동일 파티션에 순서대로 적재되도록 함.
+        kafkaTemplate.send(CHAT_ROOM_TOPIC, String.valueOf(chatRoom.getId()), event);
         logger.debug("Published event to Kafka: {}", event);
     }
 }
@@ -0,0 +1,46 @@
+package chat.common.token;
+
+/**
+ * user-service가 로그아웃 시 발행하는 토큰 폐기 이벤트.
+ * 각 서비스는 이를 받아 메모리 내 폐기 목록(TokenRevocationRegistry)에 추가함.
+ */
+public class TokenRevocationEvent {
+
+    private String jti;     // 폐기된 토큰의 jti 클레임
+    private long expiresAt; // 폐기된 토큰의 만료 시각 (epoch millis). 이 시각이 지나면 폐기 목록에서 제거됨
+
+    /**
+     * 기본 생성자. JSON deserialization에 필요함.
+     */
+    public TokenRevocationEvent() {
+    }
+
+    public TokenRevocationEvent(String jti, long expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public void setJti(String jti) {
+        this.jti = jti;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevocationEvent{" +
+                "jti='" + jti + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package chat.common.token;
+
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+
+import java.util.Map;
+
+/**
+ * token-revocations 토픽의 토큰 폐기 이벤트를 소비하여 메모리 내 폐기 목록을 갱신하는 리스너.
+ * 각 서비스는 "tokenRevocationKafkaListenerContainerFactory" 이름의 컨테이너 팩토리와 함께 이 클래스를 빈으로 등록함.
+ * 폐기 목록은 모든 노드가 가져야 하므로 팩토리는 노드마다 고유한 그룹 ID를 사용해야 함.
+ */
+public class TokenRevocationListener implements ConsumerSeekAware {
+
+    public static final String TOPIC = "token-revocations";
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final long tokenLifetimeMillis;
+
+    /**
+     * @param tokenRevocationRegistry 메모리 내 폐기 목록
+     * @param validityInMinutes       액세스 토큰 유효 기간(분)
+     */
+    public TokenRevocationListener(TokenRevocationRegistry tokenRevocationRegistry, long validityInMinutes) {
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.tokenLifetimeMillis = validityInMinutes * 60 * 1000;
+    }
+
+    /**
+     * 시작 시 아직 만료되지 않았을 수 있는 토큰의 폐기 이벤트를 모두 다시 읽도록
+     * 토큰 유효 기간만큼 이전 시점으로 이동함.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToTimestamp(assignments.keySet(), System.currentTimeMillis() - tokenLifetimeMillis);
+    }
+
+    /**
+     * Kafka에서 토큰 폐기 이벤트를 소비함.
+     *
+     * @param event 소비된 토큰 폐기 이벤트
+     */
+    @KafkaListener(
+            topics = TOPIC,
+            containerFactory = "tokenRevocationKafkaListenerContainerFactory"
+    )
+    public void consumeTokenRevocation(TokenRevocationEvent event) {
+        if (event == null || event.getJti() == null) {
+            logger.warn("Received token revocation without jti: {}", event);
+            return;
+        }
+        tokenRevocationRegistry.revoke(event.getJti(), event.getExpiresAt());
+        logger.debug("Token revoked: jti={}, revocations={}", event.getJti(), tokenRevocationRegistry.size());
+    }
+}
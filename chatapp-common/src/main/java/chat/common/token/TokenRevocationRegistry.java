@@ -0,0 +1,71 @@
+package chat.common.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 폐기된 토큰의 jti를 보관하는 메모리 내 폐기 목록.
+ * 토큰 검증 시 네트워크 호출 없이 폐기 여부를 확인할 수 있도록 함.
+ * 만료된 토큰은 어차피 서명 검증 단계에서 거부되므로 만료 시각이 지나면 목록에서 제거함.
+ * 각 서비스는 이 클래스를 빈으로 등록하고 JWT 검증 시 사용함.
+ */
+public class TokenRevocationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private static final long PRUNE_INTERVAL_MILLIS = 60_000L;
+
+    // jti -> 토큰 만료 시각(epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPrunedAt = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * 토큰을 폐기 목록에 추가함.
+     *
+     * @param jti       토큰의 jti 클레임
+     * @param expiresAt 토큰 만료 시각(epoch millis)
+     */
+    public void revoke(String jti, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (jti == null || expiresAt <= now) {
+            return;
+        }
+        revokedTokens.merge(jti, expiresAt, Math::max);
+        pruneIfDue(now);
+    }
+
+    /**
+     * 토큰이 폐기되었는지 확인함.
+     *
+     * @param jti 토큰의 jti 클레임
+     * @return 폐기되었으면 true
+     */
+    public boolean isRevoked(String jti) {
+        Long expiresAt = revokedTokens.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 현재 폐기 목록의 크기를 반환함.
+     *
+     * @return 폐기된 토큰 수
+     */
+    public int size() {
+        return revokedTokens.size();
+    }
+
+    // 일정 주기마다 만료된 항목을 제거함
+    private void pruneIfDue(long now) {
+        long last = lastPrunedAt.get();
+        if (now - last < PRUNE_INTERVAL_MILLIS || !lastPrunedAt.compareAndSet(last, now)) {
+            return;
+        }
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        logger.debug("Pruned expired revocations. Remaining: {}", revokedTokens.size());
+    }
+}
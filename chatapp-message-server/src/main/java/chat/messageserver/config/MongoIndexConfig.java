@@ -0,0 +1,45 @@
+package chat.messageserver.config;
+
+import chat.messageserver.model.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * 엔티티에 선언된 인덱스를 시작 시 명시적으로 생성하는 설정.
+ * Spring Boot 2.4는 auto-index-creation 기본값이 false라서 @CompoundIndex가 자동으로 만들어지지 않으므로
+ * 애플리케이션 준비 완료 시 ensureIndex로 생성함. 이미 있는 인덱스는 그대로 둠.
+ */
+@Configuration
+public class MongoIndexConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexConfig.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mongoMappingContext;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate, MongoMappingContext mongoMappingContext) {
+        this.mongoTemplate = mongoTemplate;
+        this.mongoMappingContext = mongoMappingContext;
+    }
+
+    /**
+     * Message 컬렉션의 (roomId, sequence) 인덱스를 생성함.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexOperations indexOperations = mongoTemplate.indexOps(Message.class);
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+        resolver.resolveIndexFor(Message.class).forEach(index -> {
+            indexOperations.ensureIndex(index);
+            logger.info("Ensured index on {}: {}", mongoTemplate.getCollectionName(Message.class), index.getIndexKeys());
+        });
+    }
+}
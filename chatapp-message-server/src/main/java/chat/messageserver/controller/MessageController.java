@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/messages")
 @CrossOrigin
@@ -46,6 +48,22 @@ public class MessageController {
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * 채팅방의 메시지를 커서 기준으로 조회 (무한 스크롤용)
+     *
+     * @param roomId 채팅방 ID
+     * @param before 마지막으로 받은 메시지의 sequence. 없으면 가장 최근 메시지부터 조회
+     * @param size   조회할 메시지 수
+     * @return 메시지 리스트 (최신순)
+     */
+    @GetMapping("/room/{roomId}/history")
+    public ResponseEntity<List<Message>> getMessageHistory(@PathVariable Long roomId,
+                                                           @RequestParam(required = false) Long before,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        List<Message> messages = messageService.getMessagesBefore(roomId, before, size);
+        return ResponseEntity.ok(messages);
+    }
+
     /**
      * 메시지 삭제
      *
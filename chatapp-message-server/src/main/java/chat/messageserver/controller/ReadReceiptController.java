@@ -0,0 +1,41 @@
+package chat.messageserver.controller;
+
+import chat.messageserver.model.ReadReceipt;
+import chat.messageserver.service.ReadReceiptService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@CrossOrigin
+public class ReadReceiptController {
+
+    @Autowired
+    private ReadReceiptService readReceiptService;
+
+    /**
+     * 읽음 위치 배치 저장 (websocket 서버의 write-behind 플러시에서 호출)
+     * 서비스 간 호출 전용이므로 게이트웨이가 라우팅하지 않는 /internal 경로에 둠.
+     *
+     * @param receipts 사용자/채팅방별 읽음 위치
+     * @return 응답 상태
+     */
+    @PostMapping("/internal/read-receipts/batch")
+    public ResponseEntity<Void> saveWatermarks(@RequestBody List<ReadReceipt> receipts) {
+        readReceiptService.saveWatermarks(receipts);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 채팅방의 사용자별 읽음 위치 조회
+     *
+     * @param roomId 채팅방 ID
+     * @return 읽음 위치 리스트
+     */
+    @GetMapping("/messages/read-receipts/room/{roomId}")
+    public ResponseEntity<List<ReadReceipt>> getWatermarks(@PathVariable Long roomId) {
+        return ResponseEntity.ok(readReceiptService.getWatermarks(roomId));
+    }
+}
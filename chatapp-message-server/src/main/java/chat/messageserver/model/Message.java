@@ -2,19 +2,33 @@ package chat.messageserver.model;
 
 import lombok.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.regex.Pattern;
 
+/**
+ * 채팅 메시지.
+ * _id는 Snowflake ID(19자리 문자열)와 이전 형식의 ObjectId가 섞여 있어 BSON 타입 순서 때문에 시간순 정렬에 쓸 수 없음.
+ * 대신 모든 메시지에 숫자형 sequence를 저장하여 채팅방 내 시간순 정렬과 keyset 페이지네이션에 사용함.
+ */
 @Data
 @Document(collection = "messages")
+@CompoundIndex(name = "room_sequence", def = "{'roomId': 1, 'sequence': -1}")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Message implements Serializable {
 
+    // websocket 서버의 SnowflakeIdGenerator와 같은 기준 시각과 비트 배치
+    private static final long SNOWFLAKE_EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int SNOWFLAKE_TIMESTAMP_SHIFT = 22;
+    private static final Pattern SNOWFLAKE_ID_PATTERN = Pattern.compile("\\d{19}");
+
     @Id
     private String id;
 
@@ -24,5 +38,25 @@ public class Message implements Serializable {
     private String sender;
     private String content;
     private LocalDateTime timestamp;
+    private Long sequence;             // 정렬용 Snowflake 값. Snowflake ID가 아니면 timestamp에서 도출함
 
+    /**
+     * 정렬용 sequence 값을 계산함.
+     * Snowflake ID는 그대로 숫자로 사용하고, 그 외(ObjectId 등)는 timestamp를 같은 비트 배치의 타임스탬프 부분에 넣어
+     * 워커/시퀀스 비트가 0인 값으로 만듦. 따라서 두 형식이 섞여도 시간 순서가 유지됨.
+     *
+     * @param id        메시지 ID
+     * @param timestamp 메시지 작성 시각
+     * @return 정렬용 sequence 값, 둘 다 없으면 null
+     */
+    public static Long sequenceOf(String id, LocalDateTime timestamp) {
+        if (id != null && SNOWFLAKE_ID_PATTERN.matcher(id).matches()) {
+            return Long.parseLong(id);
+        }
+        if (timestamp == null) {
+            return null;
+        }
+        long millis = timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return Math.max(millis - SNOWFLAKE_EPOCH_MILLIS, 0L) << SNOWFLAKE_TIMESTAMP_SHIFT;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package chat.messageserver.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 사용자가 채팅방에서 어디까지 읽었는지를 나타내는 읽음 위치(watermark).
+ * 메시지마다 행을 만들지 않고 사용자/채팅방당 하나의 문서만 유지함.
+ */
+@Data
+@Document(collection = "read_receipts")
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadReceipt implements Serializable {
+
+    @Id
+    private String id;                 // {roomId}:{userId}
+
+    private Long roomId;
+    private Long userId;
+    private String lastReadMessageId;  // 마지막으로 읽은 메시지 ID (Snowflake 19자리 문자열)
+    private LocalDateTime updatedAt;
+
+    public static String idOf(Long roomId, Long userId) {
+        return roomId + ":" + userId;
+    }
+}
@@ -11,7 +11,7 @@ import java.util.List;
  * 메시지 관련 데이터 접근을 담당하는 리포지토리 인터페이스.
  * Spring Data MongoDB를 사용하여 CRUD 및 커스텀 쿼리 메서드를 제공함.
  */
-public interface MessageRepository extends MongoRepository<Message, String> {
+public interface MessageRepository extends MongoRepository<Message, String>, MessageRepositoryCustom {
 
     /**
      * 특정 채팅방 ID에 속한 메시지를 페이지네이션하여 조회함.
@@ -29,4 +29,23 @@ public interface MessageRepository extends MongoRepository<Message, String> {
      * @return 특정 채팅방의 메시지 리스트
      */
     List<Message> findByRoomId(Long roomId);
+
+    /**
+     * 특정 채팅방의 최근 메시지를 sequence 역순으로 조회함.
+     *
+     * @param roomId   채팅방 ID
+     * @param pageable 조회 개수를 담은 Pageable 객체
+     * @return 메시지 리스트
+     */
+    List<Message> findByRoomIdOrderBySequenceDesc(Long roomId, Pageable pageable);
+
+    /**
+     * 특정 채팅방에서 주어진 sequence보다 이전 메시지를 sequence 역순으로 조회함 (keyset 페이지네이션).
+     *
+     * @param roomId   채팅방 ID
+     * @param sequence 커서. 이 값보다 작은 sequence만 조회함
+     * @param pageable 조회 개수를 담은 Pageable 객체
+     * @return 메시지 리스트
+     */
+    List<Message> findByRoomIdAndSequenceLessThanOrderBySequenceDesc(Long roomId, Long sequence, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.Message;
+
+/**
+ * MessageRepository에 추가되는 사용자 정의 저장 연산.
+ */
+public interface MessageRepositoryCustom {
+
+    /**
+     * 같은 ID의 메시지가 없을 때만 저장함. 이미 있으면 기존 문서를 변경하지 않음.
+     *
+     * @param message 저장할 메시지 (ID 필수)
+     * @return 새로 저장되었으면 true, 이미 존재하면 false
+     */
+    boolean insertIfAbsent(Message message);
+}
@@ -0,0 +1,34 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.Message;
+import com.mongodb.client.result.UpdateResult;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * MessageRepositoryCustom 구현체. _id 기준 upsert와 $setOnInsert로 한 번의 왕복에서 중복 없이 저장함.
+ */
+public class MessageRepositoryImpl implements MessageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MessageRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean insertIfAbsent(Message message) {
+        Query query = Query.query(Criteria.where("_id").is(message.getId()));
+        Update update = new Update()
+                .setOnInsert("userId", message.getUserId())
+                .setOnInsert("roomId", message.getRoomId())
+                .setOnInsert("sender", message.getSender())
+                .setOnInsert("content", message.getContent())
+                .setOnInsert("timestamp", message.getTimestamp())
+                .setOnInsert("sequence", message.getSequence());
+        UpdateResult result = mongoTemplate.upsert(query, update, Message.class);
+        return result.getUpsertedId() != null;
+    }
+}
@@ -0,0 +1,20 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.ReadReceipt;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/**
+ * 읽음 위치 데이터 접근을 담당하는 리포지토리 인터페이스.
+ */
+public interface ReadReceiptRepository extends MongoRepository<ReadReceipt, String>, ReadReceiptRepositoryCustom {
+
+    /**
+     * 특정 채팅방의 모든 읽음 위치를 조회함.
+     *
+     * @param roomId 채팅방 ID
+     * @return 사용자별 읽음 위치 리스트
+     */
+    List<ReadReceipt> findByRoomId(Long roomId);
+}
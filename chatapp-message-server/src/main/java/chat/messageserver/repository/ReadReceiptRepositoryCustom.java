@@ -0,0 +1,19 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.ReadReceipt;
+
+import java.util.List;
+
+/**
+ * 읽음 위치를 일괄 갱신하는 리포지토리 확장.
+ */
+public interface ReadReceiptRepositoryCustom {
+
+    /**
+     * 읽음 위치를 한 번의 bulk 요청으로 반영함. 기존 값보다 앞선 위치로는 되돌리지 않음.
+     *
+     * @param receipts 사용자/채팅방별 읽음 위치
+     * @return 새로 만들어지거나 변경된 문서 수
+     */
+    int advanceAll(List<ReadReceipt> receipts);
+}
@@ -0,0 +1,45 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.ReadReceipt;
+import com.mongodb.bulk.BulkWriteResult;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * ReadReceiptRepositoryCustom 구현체. 문서별 upsert와 $max를 하나의 unordered bulk 요청으로 보냄.
+ * 메시지 ID는 같은 길이의 숫자 문자열이므로 문자열 $max가 곧 가장 최근 메시지가 됨.
+ */
+public class ReadReceiptRepositoryImpl implements ReadReceiptRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public ReadReceiptRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public int advanceAll(List<ReadReceipt> receipts) {
+        if (receipts.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReadReceipt.class);
+        for (ReadReceipt receipt : receipts) {
+            Query query = Query.query(Criteria.where("_id").is(ReadReceipt.idOf(receipt.getRoomId(), receipt.getUserId())));
+            Update update = new Update()
+                    .setOnInsert("roomId", receipt.getRoomId())
+                    .setOnInsert("userId", receipt.getUserId())
+                    .max("lastReadMessageId", receipt.getLastReadMessageId())
+                    .set("updatedAt", now);
+            bulk.upsert(query, update);
+        }
+        BulkWriteResult result = bulk.execute();
+        return result.getUpserts().size() + result.getModifiedCount();
+    }
+}
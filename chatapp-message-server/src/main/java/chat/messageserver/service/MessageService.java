@@ -15,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.concurrent.ListenableFutureCallback;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 메시지 관련 비즈니스 로직을 처리하는 서비스 클래스.
@@ -27,38 +28,62 @@ public class MessageService {
 
     private final MessageRepository messageRepository;
     private final KafkaTemplate<String, MessageEvent> kafkaTemplate;
+    private final RecentMessageIdCache recentMessageIds;
 
     /**
      * 생성자 주입을 통해 의존성을 주입받음.
      *
      * @param messageRepository 메시지 리포지토리
      * @param kafkaTemplate     Kafka 템플릿
+     * @param recentMessageIds  최근 저장한 메시지 ID 캐시
      */
     public MessageService(MessageRepository messageRepository,
-                          KafkaTemplate<String, MessageEvent> kafkaTemplate) {
+                          KafkaTemplate<String, MessageEvent> kafkaTemplate,
+                          RecentMessageIdCache recentMessageIds) {
         this.messageRepository = messageRepository;
         this.kafkaTemplate = kafkaTemplate;
+        this.recentMessageIds = recentMessageIds;
     }
 
     /**
-     * 메시지를 저장함.
+     * 메시지를 저장함. Kafka는 최소 한 번 전달하므로 같은 메시지가 여러 번 들어올 수 있음.
+     * 최근에 저장한 ID는 캐시에서 바로 걸러내고, 그 외에는 ID 기준 insert-if-absent로 저장하여 중복 행을 만들지 않음.
      *
      * @param message 저장할 메시지 객체
+     * @return 새로 저장되었으면 true, 중복이면 false
      */
     @Transactional
-    public void saveMessage(Message message) {
+    public boolean saveMessage(Message message) {
         // 필수 필드 설정 및 검증
-        if (message.getId() == null) {
-            // ID가 Long 타입이라면 UUID 대신 적절한 방식으로 설정해야 함
-            // 예: message.setId(generateUniqueId());
-        }
+        // ID는 websocket 서버가 발행 전에 시간순 Snowflake ID(19자리 문자열)로 부여함.
+        // ID가 없는 이전 형식의 이벤트는 저장 시 MongoDB가 ObjectId를 부여함.
         if (message.getTimestamp() == null) {
             message.setTimestamp(LocalDateTime.now());
         }
+        // _id 타입이 섞여 있어도 시간순으로 정렬할 수 있도록 숫자형 sequence를 함께 저장함
+        message.setSequence(Message.sequenceOf(message.getId(), message.getTimestamp()));
+
+        String messageId = message.getId();
+        if (messageId != null && recentMessageIds.contains(messageId)) {
+            logger.debug("Skipping duplicate message with ID: {} (recently saved).", messageId);
+            return false;
+        }
 
         try {
-            messageRepository.save(message);
-            logger.info("Message with ID: {} saved successfully to the database.", message.getId());
+            if (messageId == null) {
+                messageRepository.save(message);
+                logger.info("Message without producer ID saved with generated ID: {}", message.getId());
+                return true;
+            }
+
+            boolean inserted = messageRepository.insertIfAbsent(message);
+            recentMessageIds.add(messageId);
+            if (inserted) {
+                logger.info("Message with ID: {} saved successfully to the database.", messageId);
+            } else {
+                logger.info("Message with ID: {} already exists. Skipping duplicate.", messageId);
+            }
+            return inserted;
         } catch (Exception e) {
             logger.error("Error saving message with ID: {} to the database: {}", message.getId(), e.getMessage());
             throw e;
@@ -102,7 +127,8 @@ public class MessageService {
             messageRepository.delete(message);
             // 이벤트 발행
             MessageEvent event = new MessageEvent("DELETE", message);
-            kafkaTemplate.send(MESSAGE_TOPIC, null, event)
+            // roomId를 키로 사용하여 SEND 이벤트와 같은 파티션에서 순서가 보장되도록 함.
+            kafkaTemplate.send(MESSAGE_TOPIC, String.valueOf(message.getRoomId()), event)
                     .addCallback(new ListenableFutureCallback<SendResult<String, MessageEvent>>() {
                         @Override
                         public void onSuccess(SendResult<String, MessageEvent> result) {
@@ -122,6 +148,7 @@ public class MessageService {
 
     /**
      * 특정 채팅방의 메시지를 페이지네이션하여 조회함.
+     * (roomId, sequence) 인덱스를 그대로 타도록 sequence 역순으로 정렬함.
      *
      * @param roomId 채팅방 ID
      * @param page   페이지 번호 (0부터 시작)
@@ -130,8 +157,27 @@ public class MessageService {
      */
     @Transactional(readOnly = true)
     public Page<Message> getMessagesByRoomId(Long roomId, int page, int size) {
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "sequence"));
         logger.info("Fetching messages for roomId: {}, page: {}, size: {}", roomId, page, size);
         return messageRepository.findByRoomId(roomId, pageRequest);
     }
+
+    /**
+     * 특정 채팅방의 메시지를 커서(sequence) 기준으로 최신순 조회함.
+     * skip 없이 인덱스 범위 탐색만 하므로 오래된 기록을 거슬러 올라가도 비용이 일정함.
+     *
+     * @param roomId 채팅방 ID
+     * @param before 이 sequence보다 이전 메시지만 조회함. null이면 가장 최근 메시지부터 조회함
+     * @param size   조회할 메시지 수
+     * @return 메시지 리스트 (sequence 역순)
+     */
+    @Transactional(readOnly = true)
+    public List<Message> getMessagesBefore(Long roomId, Long before, int size) {
+        PageRequest pageRequest = PageRequest.of(0, size);
+        logger.info("Fetching messages for roomId: {}, before: {}, size: {}", roomId, before, size);
+        if (before == null) {
+            return messageRepository.findByRoomIdOrderBySequenceDesc(roomId, pageRequest);
+        }
+        return messageRepository.findByRoomIdAndSequenceLessThanOrderBySequenceDesc(roomId, before, pageRequest);
+    }
 }
@@ -0,0 +1,61 @@
+package chat.messageserver.service;
+
+import chat.messageserver.model.ReadReceipt;
+import chat.messageserver.repository.ReadReceiptRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 읽음 위치 관련 비즈니스 로직을 처리하는 서비스 클래스.
+ * websocket 서버가 메모리에서 모은 읽음 위치를 배치로 받아 사용자/채팅방당 하나의 문서로 반영함.
+ */
+@Service
+public class ReadReceiptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReceiptService.class);
+
+    // $max는 문자열 순서로 비교하므로 같은 형식(19자리 Snowflake ID)만 저장함. 다른 값은 위치를 영구히 고정시킴
+    private static final Pattern MESSAGE_ID_PATTERN = Pattern.compile("\\d{19}");
+
+    private final ReadReceiptRepository readReceiptRepository;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param readReceiptRepository 읽음 위치 리포지토리
+     */
+    public ReadReceiptService(ReadReceiptRepository readReceiptRepository) {
+        this.readReceiptRepository = readReceiptRepository;
+    }
+
+    /**
+     * 읽음 위치 배치를 저장함. 필수 값이 없거나 메시지 ID가 Snowflake 형식이 아닌 항목은 건너뜀.
+     *
+     * @param receipts 사용자/채팅방별 읽음 위치
+     * @return 새로 만들어지거나 변경된 문서 수
+     */
+    public int saveWatermarks(List<ReadReceipt> receipts) {
+        List<ReadReceipt> valid = receipts.stream()
+                .filter(r -> r.getRoomId() != null && r.getUserId() != null && r.getLastReadMessageId() != null
+                        && MESSAGE_ID_PATTERN.matcher(r.getLastReadMessageId()).matches())
+                .collect(Collectors.toList());
+        int changed = readReceiptRepository.advanceAll(valid);
+        logger.debug("Applied {} read watermarks ({} changed)", valid.size(), changed);
+        return changed;
+    }
+
+    /**
+     * 채팅방의 사용자별 읽음 위치를 조회함.
+     *
+     * @param roomId 채팅방 ID
+     * @return 읽음 위치 리스트
+     */
+    public List<ReadReceipt> getWatermarks(Long roomId) {
+        return readReceiptRepository.findByRoomId(roomId);
+    }
+}
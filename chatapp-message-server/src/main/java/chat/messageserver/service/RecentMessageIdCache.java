@@ -0,0 +1,47 @@
+package chat.messageserver.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최근에 저장한 메시지 ID를 기억하는 크기 제한 LRU 캐시.
+ * 재전달된 레코드를 데이터베이스 왕복 없이 걸러내기 위해 사용함. 캐시에서 밀려난 ID는
+ * 데이터베이스의 insert-if-absent 저장으로 중복이 방지되므로 정확성에는 영향이 없음.
+ */
+@Component
+public class RecentMessageIdCache {
+
+    private final Map<String, Boolean> ids;
+
+    /**
+     * @param maximumSize 기억할 최대 메시지 ID 수
+     */
+    public RecentMessageIdCache(@Value("${message.dedupe.cache-size:100000}") int maximumSize) {
+        this.ids = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @param messageId 메시지 ID
+     * @return 최근에 처리한 ID이면 true
+     */
+    public synchronized boolean contains(String messageId) {
+        return ids.get(messageId) != null;
+    }
+
+    /**
+     * 처리한 메시지 ID를 기록함.
+     *
+     * @param messageId 메시지 ID
+     */
+    public synchronized void add(String messageId) {
+        ids.put(messageId, Boolean.TRUE);
+    }
+}
@@ -0,0 +1,93 @@
+package chat.messageserver.listener;
+
+import chat.messageserver.event.MessageEvent;
+import chat.messageserver.model.Message;
+import chat.messageserver.repository.MessageRepository;
+import chat.messageserver.service.MessageService;
+import chat.messageserver.service.RecentMessageIdCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 파티션의 레코드가 두 번 전달될 때(리밸런스 등) 리스너가 중복을 어디서 거르는지 확인하는 테스트.
+ * 최근 ID 캐시에 있는 메시지는 데이터베이스까지 가지 않고, 나머지는 항상 insertIfAbsent로 저장되어야 함.
+ * insertIfAbsent 자체의 중복 방지($setOnInsert upsert)는 MessageRepositoryImplTest에서 확인함.
+ */
+class MessageEventListenerReplayTest {
+
+    private static final int PARTITION_SIZE = 50;
+
+    private MessageRepository messageRepository;
+    private List<MessageEvent> partition;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository = mock(MessageRepository.class);
+        when(messageRepository.insertIfAbsent(any(Message.class))).thenReturn(true);
+
+        partition = new ArrayList<>();
+        for (int i = 0; i < PARTITION_SIZE; i++) {
+            Message message = new Message(String.format("%019d", 1000L + i), 7L, 1L, "user1", "message " + i,
+                    LocalDateTime.now(), null);
+            partition.add(new MessageEvent("SEND", message));
+        }
+    }
+
+    @Test
+    void replayedPartitionIsDroppedByRecentIdCache() {
+        MessageEventListener listener = listener(new RecentMessageIdCache(1000));
+
+        replay(listener);
+        replay(listener);
+
+        // 두 번째 전달은 캐시에서 걸러져 데이터베이스까지 가지 않음
+        verify(messageRepository, times(PARTITION_SIZE)).insertIfAbsent(any(Message.class));
+        verify(messageRepository, never()).save(any(Message.class));
+    }
+
+    @Test
+    void replayAfterCacheLossGoesThroughInsertIfAbsent() {
+        // 다른 노드로 파티션이 옮겨진 경우처럼 캐시가 비어 있는 컨슈머가 다시 처리함.
+        // 재처리는 덮어쓰는 save가 아니라 insertIfAbsent로만 저장되어야 함
+        replay(listener(new RecentMessageIdCache(1000)));
+        replay(listener(new RecentMessageIdCache(1000)));
+
+        verify(messageRepository, times(PARTITION_SIZE * 2)).insertIfAbsent(any(Message.class));
+        verify(messageRepository, never()).save(any(Message.class));
+    }
+
+    @Test
+    void cacheSmallerThanPartitionFallsBackToInsertIfAbsent() {
+        MessageEventListener listener = listener(new RecentMessageIdCache(10));
+
+        replay(listener);
+        replay(listener);
+
+        // 캐시에서 밀려난 ID는 다시 insertIfAbsent로 가고, save는 사용하지 않음
+        verify(messageRepository, atLeast(PARTITION_SIZE + 1)).insertIfAbsent(any(Message.class));
+        verify(messageRepository, never()).save(any(Message.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private MessageEventListener listener(RecentMessageIdCache cache) {
+        KafkaTemplate<String, MessageEvent> kafkaTemplate = mock(KafkaTemplate.class);
+        return new MessageEventListener(new MessageService(messageRepository, kafkaTemplate, cache));
+    }
+
+    private void replay(MessageEventListener listener) {
+        partition.forEach(listener::consumeMessageEvent);
+    }
+}
@@ -0,0 +1,35 @@
+package chat.messageserver.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Snowflake ID와 ObjectId 메시지가 섞여 있어도 sequence가 시간 순서를 유지하는지 확인하는 테스트.
+ */
+class MessageTest {
+
+    @Test
+    void snowflakeIdIsUsedAsSequence() {
+        assertEquals(123456789L, Message.sequenceOf("0000000000123456789", LocalDateTime.now()));
+    }
+
+    @Test
+    void objectIdMessagesOrderByTimestampAmongSnowflakeIds() {
+        LocalDateTime earlier = LocalDateTime.of(2025, 1, 1, 12, 0);
+        LocalDateTime later = earlier.plusSeconds(1);
+        // 두 시각 사이에 만들어진 Snowflake ID (타임스탬프 부분만 채움)
+        Long between = Message.sequenceOf(null, earlier.plusNanos(500_000_000L)) + 7;
+        String snowflakeId = String.format("%019d", between);
+
+        Long objectIdEarlier = Message.sequenceOf("65a1b2c3d4e5f60718293a4b", earlier);
+        Long snowflake = Message.sequenceOf(snowflakeId, LocalDateTime.now());
+        Long objectIdLater = Message.sequenceOf("65a1b2c3d4e5f60718293a4c", later);
+
+        assertTrue(objectIdEarlier < snowflake);
+        assertTrue(snowflake < objectIdLater);
+    }
+}
@@ -0,0 +1,86 @@
+package chat.messageserver.repository;
+
+import chat.messageserver.model.Message;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * insertIfAbsent가 _id 기준 upsert와 $setOnInsert만으로 저장하는지 확인하는 테스트.
+ * 이미 있는 문서는 변경되지 않고(false), 새로 만든 경우에만 true를 반환해야 함.
+ */
+class MessageRepositoryImplTest {
+
+    private static final String MESSAGE_ID = "0000000000000001000";
+
+    private MongoTemplate mongoTemplate;
+    private MessageRepositoryImpl repository;
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository = new MessageRepositoryImpl(mongoTemplate);
+        message = new Message(MESSAGE_ID, 7L, 1L, "user1", "hello", LocalDateTime.now(), 1000L);
+    }
+
+    @Test
+    void upsertsByIdWithSetOnInsertOnly() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Message.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString(MESSAGE_ID)));
+
+        repository.insertIfAbsent(message);
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(Message.class));
+
+        assertEquals(new Document("_id", MESSAGE_ID), query.getValue().getQueryObject());
+        Document updateObject = update.getValue().getUpdateObject();
+        // 기존 문서를 덮어쓰지 않도록 $set 없이 $setOnInsert만 사용해야 함
+        assertEquals(1, updateObject.size());
+        Document setOnInsert = (Document) updateObject.get("$setOnInsert");
+        assertEquals(7L, setOnInsert.get("userId"));
+        assertEquals(1L, setOnInsert.get("roomId"));
+        assertEquals("user1", setOnInsert.get("sender"));
+        assertEquals("hello", setOnInsert.get("content"));
+        assertEquals(message.getTimestamp(), setOnInsert.get("timestamp"));
+        assertEquals(1000L, setOnInsert.get("sequence"));
+        assertNull(setOnInsert.get("_id"));
+    }
+
+    @Test
+    void returnsTrueWhenDocumentWasInserted() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Message.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, new BsonString(MESSAGE_ID)));
+
+        assertTrue(repository.insertIfAbsent(message));
+    }
+
+    @Test
+    void returnsFalseWhenDocumentAlreadyExisted() {
+        // 같은 _id 문서가 있으면 upsert는 매칭만 하고 아무것도 바꾸지 않음
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Message.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 0L, null));
+
+        assertFalse(repository.insertIfAbsent(message));
+    }
+}
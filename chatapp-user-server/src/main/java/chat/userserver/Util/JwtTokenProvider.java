@@ -1,5 +1,7 @@
 package chat.userserver.Util;
 
+import chat.common.token.TokenRevocationEvent;
+import chat.common.token.TokenRevocationRegistry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
@@ -13,6 +15,7 @@ import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
 import java.time.Duration;
 import java.util.Date;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 @Component
@@ -28,10 +31,14 @@ public class JwtTokenProvider {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
     private SecretKey key;
 
-    public JwtTokenProvider(RedisTemplate<String, Object> redisTemplate) {
+    public JwtTokenProvider(RedisTemplate<String, Object> redisTemplate,
+                            TokenRevocationRegistry tokenRevocationRegistry) {
         this.redisTemplate = redisTemplate;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
     }
 
     @PostConstruct
@@ -54,6 +61,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 식별하기 위한 jti
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -61,12 +69,16 @@ public class JwtTokenProvider {
     }
 
     // JWT 토큰 검증 (동기 방식)
+    // jti가 있는 토큰은 메모리 내 폐기 목록으로만 확인하므로 네트워크 호출이 없음
     public boolean validateToken(String token) {
         try {
             logger.info("Validating token: {}", token);
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            Claims body = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
             logger.info("Token parsed successfully.");
-            // Redis에 토큰이 저장되어 있는지 확인 (동기 방식)
+            if (body.getId() != null) {
+                return !tokenRevocationRegistry.isRevoked(body.getId());
+            }
+            // jti가 없는 이전 토큰은 Redis에 토큰이 저장되어 있는지 확인 (동기 방식)
             Boolean hasKey = redisTemplate.hasKey(token);
             logger.info("Token exists in Redis: {}", hasKey);
             return hasKey != null && hasKey;
@@ -112,4 +124,21 @@ public class JwtTokenProvider {
         Boolean deleted = redisTemplate.delete(token);
         return deleted != null && deleted;
     }
+
+    // 토큰을 로컬 폐기 목록에 추가하고, 다른 서비스에 전파할 폐기 이벤트를 반환함
+    // 이미 만료되었거나 유효하지 않은 토큰, jti가 없는 이전 토큰은 전파할 필요가 없으므로 null 반환
+    public TokenRevocationEvent revokeToken(String token) {
+        try {
+            Claims body = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+            if (body.getId() == null || body.getExpiration() == null) {
+                return null;
+            }
+            long expiresAt = body.getExpiration().getTime();
+            tokenRevocationRegistry.revoke(body.getId(), expiresAt);
+            return new TokenRevocationEvent(body.getId(), expiresAt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Skipping revocation of invalid token: {}", e.getMessage());
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package chat.userserver.config;
 
+import chat.common.token.TokenRevocationEvent;
+import chat.common.token.TokenRevocationListener;
+import chat.common.token.TokenRevocationRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,8 +15,11 @@ import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Kafka 소비자 설정을 담당하는 클래스.
@@ -31,6 +37,9 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${server.port:8081}")
+    private String serverPort;
+
     /**
      * Kafka 소비자 팩토리를 생성하는 Bean.
      * 소비자 설정과 직렬화 방식을 정의.
@@ -68,4 +77,65 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(consumerFactory()); // 앞서 정의한 소비자 팩토리 설정
         return factory;
     }
+
+    /**
+     * 토큰 폐기 이벤트 소비자 팩토리를 생성하는 Bean.
+     * 폐기 목록은 모든 노드가 가져야 하므로 노드마다 고유한 그룹 ID를 사용함.
+     * @return ConsumerFactory<String, TokenRevocationEvent> 객체
+     */
+    @Bean
+    public ConsumerFactory<String, TokenRevocationEvent> tokenRevocationConsumerFactory() {
+        JsonDeserializer<TokenRevocationEvent> deserializer = new JsonDeserializer<>(TokenRevocationEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers); // Kafka 서버 주소
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, "token_revocation_group-" + resolveNodeId()); // 노드별 소비자 그룹 ID
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest"); // 리스너가 시작 위치를 직접 지정함
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(deserializer)
+        );
+    }
+
+    /**
+     * 토큰 폐기 이벤트 리스너 컨테이너 팩토리를 생성하는 Bean.
+     * @return ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> 객체
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> tokenRevocationKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(tokenRevocationConsumerFactory());
+        return factory;
+    }
+
+    /**
+     * 토큰 폐기 이벤트 리스너를 등록하는 Bean.
+     * 시작 시 토큰 유효 기간만큼 이전 시점부터 폐기 이벤트를 다시 읽음.
+     *
+     * @param tokenRevocationRegistry 폐기 목록
+     * @param validityInMinutes       액세스 토큰 유효 기간(분)
+     * @return TokenRevocationListener
+     */
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(TokenRevocationRegistry tokenRevocationRegistry,
+                                                           @Value("${jwt.access.expiration.minutes}") long validityInMinutes) {
+        return new TokenRevocationListener(tokenRevocationRegistry, validityInMinutes);
+    }
+
+    /**
+     * 현재 노드를 식별하는 값을 반환 (호스트명과 포트).
+     * @return 노드 식별자
+     */
+    private String resolveNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + serverPort;
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package chat.userserver.config;
 
+import chat.common.token.TokenRevocationEvent;
 import chat.userserver.event.UserEvent;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -51,4 +52,28 @@ public class KafkaProducerConfig {
     public KafkaTemplate<String, UserEvent> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * 토큰 폐기 이벤트용 프로듀서 팩토리를 생성하는 Bean.
+     * @return ProducerFactory<String, TokenRevocationEvent> 객체
+     */
+    @Bean
+    public ProducerFactory<String, TokenRevocationEvent> tokenRevocationProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers); // Kafka 서버 주소
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class); // 키 직렬화기 설정 (문자열)
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class); // 값 직렬화기 설정 (JSON)
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false); // 타입 정보 헤더 추가 여부 설정
+
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    /**
+     * 토큰 폐기 이벤트를 전송하는 KafkaTemplate Bean.
+     * @return KafkaTemplate<String, TokenRevocationEvent> 객체
+     */
+    @Bean
+    public KafkaTemplate<String, TokenRevocationEvent> tokenRevocationKafkaTemplate() {
+        return new KafkaTemplate<>(tokenRevocationProducerFactory());
+    }
 }
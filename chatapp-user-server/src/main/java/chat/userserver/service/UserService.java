@@ -12,6 +12,7 @@ import java.util.Optional;
 import java.util.List;
 import chat.userserver.model.User;
 import chat.userserver.repository.UserRepository;
+import chat.common.token.TokenRevocationEvent;
 import chat.userserver.event.UserEvent;
 import chat.userserver.exception.UserAlreadyExistsException;
 
@@ -23,14 +24,18 @@ public class UserService {
     private final UserRepository userRepository;
     private final KafkaTemplate<String, UserEvent> kafkaTemplate;
     private final JwtTokenProvider jwtTokenProvider;
+    private final KafkaTemplate<String, TokenRevocationEvent> tokenRevocationKafkaTemplate;
 
     private static final String USER_TOPIC = "user-events";
+    private static final String TOKEN_REVOCATION_TOPIC = "token-revocations";
 
     @Autowired
-    public UserService(UserRepository userRepository, KafkaTemplate<String, UserEvent> kafkaTemplate, JwtTokenProvider jwtTokenProvider) {
+    public UserService(UserRepository userRepository, KafkaTemplate<String, UserEvent> kafkaTemplate, JwtTokenProvider jwtTokenProvider,
+                       KafkaTemplate<String, TokenRevocationEvent> tokenRevocationKafkaTemplate) {
         this.userRepository = userRepository;
         this.kafkaTemplate = kafkaTemplate;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationKafkaTemplate = tokenRevocationKafkaTemplate;
     }
 
     @Cacheable(value = "user::users", key = "#userId")
@@ -80,6 +85,12 @@ public class UserService {
     public void logout(String token) {
         logger.info("Attempting logout for token: {}", token);
         jwtTokenProvider.invalidateToken(token);
+
+        // jti를 폐기 토픽에 발행하여 모든 서비스의 메모리 내 폐기 목록에 반영함
+        TokenRevocationEvent revocation = jwtTokenProvider.revokeToken(token);
+        if (revocation != null) {
+            tokenRevocationKafkaTemplate.send(TOKEN_REVOCATION_TOPIC, revocation.getJti(), revocation);
+        }
         logger.info("Logout successful for token: {}", token);
     }
 
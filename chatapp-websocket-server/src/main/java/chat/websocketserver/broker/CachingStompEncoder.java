@@ -0,0 +1,222 @@
+package chat.websocketserver.broker;
+
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 브로드캐스트 MESSAGE 프레임을 한 번만 인코딩하는 STOMP 인코더.
+ * SimpleBroker는 구독자마다 같은 페이로드 배열을 공유하는 메시지를 만들기 때문에,
+ * 페이로드 인스턴스를 기준으로 공통 헤더와 본문을 미리 인코딩해 두고
+ * 세션마다 달라지는 subscription, message-id 헤더만 채워 넣어 프레임을 완성함.
+ * 헤더는 StompEncoder와 같은 순서(네이티브 헤더 순서, content-length는 마지막)로 기록하므로 출력 바이트가 같음.
+ */
+public class CachingStompEncoder extends StompEncoder {
+
+    private static final int CACHE_SLOTS = 256;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte COLON = ':';
+
+    private static final byte[] MESSAGE_COMMAND = "MESSAGE\n".getBytes(StandardCharsets.UTF_8);
+
+    // 페이로드의 identityHashCode로 슬롯을 고르는 작은 캐시. 충돌 시 덮어쓰며, 재사용 전 항상 검증함
+    private final AtomicReferenceArray<FrameTemplate> templates = new AtomicReferenceArray<>(CACHE_SLOTS);
+
+    @Override
+    public byte[] encode(Map<String, Object> headers, byte[] payload) {
+        if (payload == null || payload.length == 0 || StompHeaderAccessor.getCommand(headers) != StompCommand.MESSAGE) {
+            return super.encode(headers, payload);
+        }
+        Map<String, List<String>> nativeHeaders = getNativeHeaders(headers);
+        if (nativeHeaders == null) {
+            return super.encode(headers, payload);
+        }
+
+        int slot = (System.identityHashCode(payload) & 0x7fffffff) % CACHE_SLOTS;
+        FrameTemplate template = templates.get(slot);
+        if (template == null || !template.matches(payload, nativeHeaders)) {
+            template = FrameTemplate.create(payload, nativeHeaders);
+            templates.set(slot, template);
+        }
+        return template.render(nativeHeaders);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<String>> getNativeHeaders(Map<String, Object> headers) {
+        return (Map<String, List<String>>) headers.get(NativeMessageHeaderAccessor.NATIVE_HEADERS);
+    }
+
+    /**
+     * 세션마다 달라지는 헤더인지 확인함.
+     */
+    private static boolean isPerSessionHeader(String name) {
+        return StompHeaderAccessor.STOMP_SUBSCRIPTION_HEADER.equals(name)
+                || StompHeaderAccessor.STOMP_MESSAGE_ID_HEADER.equals(name);
+    }
+
+    /**
+     * StompEncoder처럼 네이티브 헤더의 content-length는 건너뛰고 실제 페이로드 길이로 마지막에 기록함.
+     */
+    private static boolean isContentLengthHeader(String name) {
+        return StompHeaderAccessor.STOMP_CONTENT_LENGTH_HEADER.equals(name);
+    }
+
+    /**
+     * STOMP 1.2 헤더 값 인코딩 규칙에 따라 이스케이프함.
+     */
+    private static byte[] escape(String input) {
+        StringBuilder sb = null;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            String replacement = null;
+            if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == ':') {
+                replacement = "\\c";
+            } else if (c == '\n') {
+                replacement = "\\n";
+            } else if (c == '\r') {
+                replacement = "\\r";
+            }
+            if (replacement != null) {
+                if (sb == null) {
+                    sb = new StringBuilder(input.length() + 8);
+                    sb.append(input, 0, i);
+                }
+                sb.append(replacement);
+            } else if (sb != null) {
+                sb.append(c);
+            }
+        }
+        return (sb != null ? sb.toString() : input).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 하나의 브로드캐스트에 대해 미리 인코딩된 프레임 조각.
+     * segments[i] 뒤에 slots[i] 헤더를 세션마다 채워 넣음. 첫 조각은 명령으로 시작하고,
+     * 마지막 조각은 content-length 헤더, 빈 줄, 페이로드, NULL 종료 문자로 끝남.
+     */
+    private static final class FrameTemplate {
+
+        private final byte[] payload;
+        private final List<String> headerNames;        // content-length를 제외한 헤더 이름 (세션별 헤더 포함, 원래 순서)
+        private final List<List<String>> sharedValues; // 공통 헤더 값, 세션별 헤더 자리는 null
+        private final byte[][] segments;
+        private final String[] slots;
+
+        private FrameTemplate(byte[] payload, List<String> headerNames, List<List<String>> sharedValues,
+                              byte[][] segments, String[] slots) {
+            this.payload = payload;
+            this.headerNames = headerNames;
+            this.sharedValues = sharedValues;
+            this.segments = segments;
+            this.slots = slots;
+        }
+
+        static FrameTemplate create(byte[] payload, Map<String, List<String>> nativeHeaders) {
+            List<String> names = new ArrayList<>(nativeHeaders.size());
+            List<List<String>> values = new ArrayList<>(nativeHeaders.size());
+            List<byte[]> segments = new ArrayList<>(3);
+            List<String> slots = new ArrayList<>(2);
+
+            ByteArrayOutputStream segment = new ByteArrayOutputStream(256);
+            segment.writeBytes(MESSAGE_COMMAND);
+            for (Map.Entry<String, List<String>> entry : nativeHeaders.entrySet()) {
+                if (isContentLengthHeader(entry.getKey())) {
+                    continue;
+                }
+                names.add(entry.getKey());
+                if (isPerSessionHeader(entry.getKey())) {
+                    values.add(null);
+                    segments.add(segment.toByteArray());
+                    slots.add(entry.getKey());
+                    segment = new ByteArrayOutputStream(64);
+                    continue;
+                }
+                values.add(entry.getValue());
+                writeHeader(segment, escape(entry.getKey()), entry.getValue());
+            }
+
+            segment.writeBytes(("content-length:" + payload.length).getBytes(StandardCharsets.UTF_8));
+            segment.write(LINE_FEED);
+            segment.write(LINE_FEED);
+            segment.writeBytes(payload);
+            segment.write(0);
+            segments.add(segment.toByteArray());
+            return new FrameTemplate(payload, names, values,
+                    segments.toArray(new byte[0][]), slots.toArray(new String[0]));
+        }
+
+        /**
+         * 같은 페이로드 인스턴스이고 헤더 순서와 공통 헤더 값이 동일한 경우에만 재사용 가능함.
+         */
+        boolean matches(byte[] candidatePayload, Map<String, List<String>> nativeHeaders) {
+            if (payload != candidatePayload) {
+                return false;
+            }
+            int index = 0;
+            for (Map.Entry<String, List<String>> entry : nativeHeaders.entrySet()) {
+                if (isContentLengthHeader(entry.getKey())) {
+                    continue;
+                }
+                if (index >= headerNames.size() || !headerNames.get(index).equals(entry.getKey())) {
+                    return false;
+                }
+                List<String> shared = sharedValues.get(index);
+                if (shared != null && !shared.equals(entry.getValue())) {
+                    return false;
+                }
+                index++;
+            }
+            return index == headerNames.size();
+        }
+
+        byte[] render(Map<String, List<String>> nativeHeaders) {
+            // 세션별 헤더 줄을 먼저 인코딩하여 프레임 크기를 정확히 계산한 뒤 한 번에 복사함
+            byte[][] slotLines = new byte[slots.length][];
+            int size = 0;
+            for (int i = 0; i < slots.length; i++) {
+                List<String> values = nativeHeaders.get(slots[i]);
+                ByteArrayOutputStream lines = new ByteArrayOutputStream(64);
+                if (values != null) {
+                    writeHeader(lines, escape(slots[i]), values);
+                }
+                slotLines[i] = lines.toByteArray();
+                size += segments[i].length + slotLines[i].length;
+            }
+            size += segments[slots.length].length;
+
+            byte[] frame = new byte[size];
+            int position = 0;
+            for (int i = 0; i < slots.length; i++) {
+                position = copy(segments[i], frame, position);
+                position = copy(slotLines[i], frame, position);
+            }
+            copy(segments[slots.length], frame, position);
+            return frame;
+        }
+
+        private static int copy(byte[] source, byte[] target, int position) {
+            System.arraycopy(source, 0, target, position, source.length);
+            return position + source.length;
+        }
+
+        private static void writeHeader(ByteArrayOutputStream out, byte[] key, List<String> values) {
+            for (String value : values) {
+                out.writeBytes(key);
+                out.write(COLON);
+                out.writeBytes(escape(value));
+                out.write(LINE_FEED);
+            }
+        }
+    }
+}
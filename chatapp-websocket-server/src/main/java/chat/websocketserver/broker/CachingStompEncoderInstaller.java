@@ -0,0 +1,50 @@
+package chat.websocketserver.broker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.StompSubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * STOMP 엔드포인트 등록이 끝난 뒤 StompSubProtocolHandler의 인코더를 CachingStompEncoder로 교체하는 컴포넌트.
+ * 엔드포인트 설정 시점에 프로토콜 핸들러가 생성되므로 모든 싱글톤 초기화 이후에 적용함.
+ */
+@Component
+public class CachingStompEncoderInstaller implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingStompEncoderInstaller.class);
+
+    private final WebSocketHandler subProtocolWebSocketHandler;
+    private final boolean enabled;
+
+    /**
+     * 생성자 주입을 통해 WebSocket 핸들러와 설정 값을 주입받음.
+     *
+     * @param subProtocolWebSocketHandler STOMP 하위 프로토콜 핸들러를 보유한 WebSocket 핸들러
+     * @param enabled                     한 번만 인코딩하는 팬아웃 경로 사용 여부
+     */
+    public CachingStompEncoderInstaller(@Qualifier("subProtocolWebSocketHandler") WebSocketHandler subProtocolWebSocketHandler,
+                                        @Value("${websocket.broker.encode-once.enabled:true}") boolean enabled) {
+        this.subProtocolWebSocketHandler = subProtocolWebSocketHandler;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || !(subProtocolWebSocketHandler instanceof SubProtocolWebSocketHandler)) {
+            return;
+        }
+        for (SubProtocolHandler handler : ((SubProtocolWebSocketHandler) subProtocolWebSocketHandler).getProtocolHandlers()) {
+            if (handler instanceof StompSubProtocolHandler) {
+                ((StompSubProtocolHandler) handler).setEncoder(new CachingStompEncoder());
+                logger.info("Installed encode-once STOMP encoder for broadcast frames");
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package chat.websocketserver.broker;
+
+/**
+ * 채팅방 목적지 문자열을 다루는 유틸리티 클래스.
+ * "/topic/chatroom-{roomId}" 및 "/topic/chatroom-{roomId}-{suffix}" 형태의 목적지를 인식함.
+ */
+public final class RoomDestinations {
+
+    public static final String ROOM_DESTINATION_PREFIX = "/topic/chatroom-";
+
+    private RoomDestinations() {
+    }
+
+    /**
+     * 목적지에서 채팅방 ID를 추출함.
+     *
+     * @param destination STOMP 목적지
+     * @return 채팅방 ID, 채팅방 목적지가 아니면 null
+     */
+    public static Long extractRoomId(String destination) {
+        if (destination == null || !destination.startsWith(ROOM_DESTINATION_PREFIX)) {
+            return null;
+        }
+        int start = ROOM_DESTINATION_PREFIX.length();
+        int end = start;
+        while (end < destination.length() && Character.isDigit(destination.charAt(end))) {
+            end++;
+        }
+        // 숫자가 없거나, 숫자 뒤에 '-' 이외의 문자가 오면 채팅방 목적지가 아님 (패턴 구독 등)
+        if (end == start || end - start > 18) {
+            return null;
+        }
+        if (end < destination.length() && destination.charAt(end) != '-') {
+            return null;
+        }
+        if (destination.indexOf('*', end) >= 0 || destination.indexOf('?', end) >= 0
+                || destination.indexOf('{', end) >= 0) {
+            return null;
+        }
+        return Long.parseLong(destination, start, end, 10);
+    }
+
+    /**
+     * 채팅방 ID를 스트라이프 인덱스로 변환함.
+     *
+     * @param roomId      채팅방 ID
+     * @param stripeCount 스트라이프 개수
+     * @return 0 이상 stripeCount 미만의 스트라이프 인덱스
+     */
+    public static int stripeOf(long roomId, int stripeCount) {
+        // 연속된 roomId가 고르게 분산되도록 비트를 섞음
+        long hash = roomId * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) & 0x7fffffff) % stripeCount;
+    }
+}
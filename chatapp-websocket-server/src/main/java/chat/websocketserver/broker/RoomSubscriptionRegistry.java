@@ -0,0 +1,203 @@
+package chat.websocketserver.broker;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 채팅방 단위로 구독을 색인하는 구독 레지스트리.
+ * 채팅방 목적지는 roomId로 스트라이프를 나눈 해시 맵에 저장되므로,
+ * 브로드캐스트 시 전체 구독이 아닌 해당 채팅방 구독자 수에 비례하는 비용만 듦.
+ * 채팅방 목적지가 아니거나 셀렉터를 사용하는 구독은 기본 레지스트리에 위임함.
+ * 채팅방 메시지는 정확히 일치하는 목적지의 구독자에게만 전달되며,
+ * "/topic/chatroom-*" 같은 패턴 구독에는 전달되지 않음.
+ * 조회 결과는 목적지별로 읽기 전용 스냅샷을 캐시하여 브로드캐스트마다 새로 만들지 않고, 구독 변경 시에만 무효화함.
+ */
+public class RoomSubscriptionRegistry extends AbstractSubscriptionRegistry {
+
+    private static final String SELECTOR_HEADER = "selector";
+
+    private static final MultiValueMap<String, String> EMPTY =
+            CollectionUtils.unmodifiableMultiValueMap(new LinkedMultiValueMap<>());
+
+    private final Stripe[] stripes;
+
+    // 세션별 구독 ID -> 채팅방 목적지 (구독 해제 시 목적지를 찾기 위한 역색인)
+    private final Map<String, Map<String, String>> sessionSubscriptions = new ConcurrentHashMap<>();
+
+    private final DefaultSubscriptionRegistry fallbackRegistry = new DefaultSubscriptionRegistry();
+
+    // 셀렉터 때문에 기본 레지스트리로 위임된 채팅방 구독 ("세션 ID:구독 ID")
+    private final Set<String> fallbackRoomSubscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 스트라이프 개수를 지정하여 레지스트리를 생성함.
+     *
+     * @param stripeCount 스트라이프 개수
+     */
+    public RoomSubscriptionRegistry(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    protected void addSubscriptionInternal(String sessionId, String subscriptionId,
+                                           String destination, Message<?> message) {
+        Long roomId = RoomDestinations.extractRoomId(destination);
+        if (roomId == null) {
+            fallbackRegistry.registerSubscription(message);
+            return;
+        }
+        if (hasSelector(message)) {
+            fallbackRoomSubscriptions.add(sessionId + ":" + subscriptionId);
+            fallbackRegistry.registerSubscription(message);
+            return;
+        }
+
+        Stripe stripe = stripeFor(roomId);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.subscriptions
+                    .computeIfAbsent(destination, key -> new HashMap<>())
+                    .computeIfAbsent(sessionId, key -> new HashSet<>())
+                    .add(subscriptionId);
+            stripe.snapshots.remove(destination);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        sessionSubscriptions
+                .computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+                .put(subscriptionId, destination);
+    }
+
+    @Override
+    protected void removeSubscriptionInternal(String sessionId, String subscriptionId, Message<?> message) {
+        Map<String, String> subscriptions = sessionSubscriptions.get(sessionId);
+        String destination = (subscriptions != null ? subscriptions.remove(subscriptionId) : null);
+        if (destination == null) {
+            fallbackRoomSubscriptions.remove(sessionId + ":" + subscriptionId);
+            fallbackRegistry.unregisterSubscription(message);
+            return;
+        }
+        removeRoomSubscription(sessionId, subscriptionId, destination);
+    }
+
+    @Override
+    public void unregisterAllSubscriptions(String sessionId) {
+        Map<String, String> subscriptions = sessionSubscriptions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) ->
+                    removeRoomSubscription(sessionId, subscriptionId, destination));
+        }
+        fallbackRoomSubscriptions.removeIf(key -> key.startsWith(sessionId + ":"));
+        fallbackRegistry.unregisterAllSubscriptions(sessionId);
+    }
+
+    @Override
+    protected MultiValueMap<String, String> findSubscriptionsInternal(String destination, Message<?> message) {
+        Long roomId = RoomDestinations.extractRoomId(destination);
+        if (roomId == null) {
+            return fallbackRegistry.findSubscriptions(message);
+        }
+
+        MultiValueMap<String, String> snapshot = snapshotOf(stripeFor(roomId), destination);
+
+        // 셀렉터를 사용하는 채팅방 구독이 있을 때만 기본 레지스트리 결과를 병합함 (이때만 새 맵을 만듦)
+        if (!fallbackRoomSubscriptions.isEmpty()) {
+            MultiValueMap<String, String> result = new LinkedMultiValueMap<>(snapshot);
+            fallbackRegistry.findSubscriptions(message)
+                    .forEach((sessionId, subscriptionIds) -> result.addAll(sessionId, subscriptionIds));
+            return result;
+        }
+        return snapshot;
+    }
+
+    /**
+     * 목적지의 구독 스냅샷을 반환함. 캐시에 없으면 읽기 락 안에서 만들어 저장하므로,
+     * 쓰기 락을 잡는 구독 변경과 겹치지 않고 변경 후에는 항상 새로 만들어짐.
+     */
+    private MultiValueMap<String, String> snapshotOf(Stripe stripe, String destination) {
+        MultiValueMap<String, String> snapshot = stripe.snapshots.get(destination);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        stripe.lock.readLock().lock();
+        try {
+            Map<String, Set<String>> sessions = stripe.subscriptions.get(destination);
+            if (sessions == null) {
+                return EMPTY;
+            }
+            MultiValueMap<String, String> result = new LinkedMultiValueMap<>(sessions.size());
+            sessions.forEach((sessionId, subscriptionIds) ->
+                    subscriptionIds.forEach(subscriptionId -> result.add(sessionId, subscriptionId)));
+            snapshot = CollectionUtils.unmodifiableMultiValueMap(result);
+            stripe.snapshots.put(destination, snapshot);
+            return snapshot;
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private void removeRoomSubscription(String sessionId, String subscriptionId, String destination) {
+        Stripe stripe = stripeFor(RoomDestinations.extractRoomId(destination));
+        stripe.lock.writeLock().lock();
+        try {
+            Map<String, Set<String>> sessions = stripe.subscriptions.get(destination);
+            if (sessions == null) {
+                return;
+            }
+            Set<String> subscriptionIds = sessions.get(sessionId);
+            if (subscriptionIds != null) {
+                subscriptionIds.remove(subscriptionId);
+                if (subscriptionIds.isEmpty()) {
+                    sessions.remove(sessionId);
+                }
+            }
+            if (sessions.isEmpty()) {
+                stripe.subscriptions.remove(destination);
+            }
+            stripe.snapshots.remove(destination);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+    }
+
+    private Stripe stripeFor(long roomId) {
+        return stripes[RoomDestinations.stripeOf(roomId, stripes.length)];
+    }
+
+    private boolean hasSelector(Message<?> message) {
+        return SimpMessageHeaderAccessor.getFirstNativeHeader(SELECTOR_HEADER, message.getHeaders()) != null;
+    }
+
+    /**
+     * 하나의 스트라이프. 자신에게 속한 채팅방 목적지의 구독을 읽기/쓰기 락으로 보호함.
+     */
+    private static class Stripe {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // 목적지 -> (세션 ID -> 구독 ID 집합)
+        private final Map<String, Map<String, Set<String>>> subscriptions = new HashMap<>();
+
+        // 목적지 -> 조회 결과 스냅샷 (읽기 락을 잡은 여러 스레드가 동시에 채울 수 있음)
+        private final Map<String, MultiValueMap<String, String>> snapshots = new ConcurrentHashMap<>();
+    }
+}
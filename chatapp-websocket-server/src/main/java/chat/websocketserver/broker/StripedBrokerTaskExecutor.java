@@ -0,0 +1,95 @@
+package chat.websocketserver.broker;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 브로커 채널용 태스크 실행기.
+ * 채팅방 목적지로 향하는 메시지는 roomId 스트라이프별 전용 워커에서 팬아웃하여
+ * 같은 채팅방의 메시지 순서를 유지하면서 채팅방 간에는 병렬로 전달함.
+ * 그 외 메시지는 기본 스레드 풀에서 처리함.
+ * 스트라이프 워커의 대기열은 크기가 제한되며, 가득 차면 기본 풀과 같은 거부 정책을 적용함.
+ * 호출한 스레드에서 실행하면 채팅방 내 순서가 깨지므로 CallerRunsPolicy는 사용하지 않음.
+ */
+public class StripedBrokerTaskExecutor extends ThreadPoolTaskExecutor {
+
+    private final int stripeCount;
+    private final int stripeQueueCapacity;
+
+    private ExecutorService[] stripeWorkers;
+
+    /**
+     * 스트라이프 개수를 지정하여 실행기를 생성함.
+     *
+     * @param stripeCount         스트라이프(워커) 개수
+     * @param stripeQueueCapacity 스트라이프 워커별 대기열 크기
+     */
+    public StripedBrokerTaskExecutor(int stripeCount, int stripeQueueCapacity) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        if (stripeQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Stripe queue capacity must be positive");
+        }
+        this.stripeCount = stripeCount;
+        this.stripeQueueCapacity = stripeQueueCapacity;
+        setThreadNamePrefix("brokerChannel-");
+    }
+
+    @Override
+    protected ExecutorService initializeExecutor(ThreadFactory threadFactory,
+                                                 RejectedExecutionHandler rejectedExecutionHandler) {
+        ExecutorService[] workers = new ExecutorService[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            workers[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(stripeQueueCapacity),
+                    new CustomizableThreadFactory("brokerStripe-" + i + "-"), rejectedExecutionHandler);
+        }
+        this.stripeWorkers = workers;
+        return super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Long roomId = resolveRoomId(task);
+        if (roomId == null || stripeWorkers == null) {
+            super.execute(task);
+            return;
+        }
+        try {
+            stripeWorkers[RoomDestinations.stripeOf(roomId, stripeCount)].execute(task);
+        } catch (RejectedExecutionException ex) {
+            throw new TaskRejectedException("Broker stripe for ChatRoom ID " + roomId + " did not accept task", ex);
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        if (stripeWorkers != null) {
+            for (ExecutorService worker : stripeWorkers) {
+                worker.shutdown();
+            }
+        }
+        super.shutdown();
+    }
+
+    private Long resolveRoomId(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable)) {
+            return null;
+        }
+        Message<?> message = ((MessageHandlingRunnable) task).getMessage();
+        return RoomDestinations.extractRoomId(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+    }
+}
@@ -0,0 +1,15 @@
+package chat.websocketserver.client;
+
+import chat.websocketserver.model.ReadReceipt;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@FeignClient(name = "message-service", url = "http://message-service:8083")
+public interface MessageServiceClient {
+
+    @PostMapping("/internal/read-receipts/batch")
+    void saveReadReceipts(@RequestBody List<ReadReceipt> receipts);
+}
@@ -1,9 +1,11 @@
 package chat.websocketserver.config;
 
+import chat.websocketserver.session.ConnectionDrainer;
 import chat.websocketserver.util.JwtTokenProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
 import org.springframework.stereotype.Component;
@@ -24,6 +26,9 @@ public class AuthenticationHandshakeInterceptor implements HandshakeInterceptor
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private ConnectionDrainer connectionDrainer;
+
     @Override
     public boolean beforeHandshake(
             ServerHttpRequest request,
@@ -31,6 +36,13 @@ public class AuthenticationHandshakeInterceptor implements HandshakeInterceptor
             WebSocketHandler wsHandler,
             Map<String, Object> attributes) throws Exception {
 
+        // 종료 중인 노드는 새 연결을 받지 않음 (클라이언트는 다른 노드로 재연결)
+        if (connectionDrainer.isDraining()) {
+            logger.info("Rejecting handshake while draining connections.");
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return false;
+        }
+
         // 요청 URI에서 쿼리 문자열을 가져옴.
         String query = request.getURI().getQuery();
         logger.info("Handshake query: {}", query);
@@ -50,22 +62,23 @@ public class AuthenticationHandshakeInterceptor implements HandshakeInterceptor
             logger.info("Extracted token: {}", token);
             logger.info("Extracted roomIdStr: {}", roomIdStr);
 
-            if (token != null && roomIdStr != null) {
+            // roomId는 선택 사항임. room-id 헤더 없이 보낸 메시지의 기본 채팅방(구독 중일 때만 허용)과
+            // 게이트웨이의 채팅방 기준 라우팅에 사용하며, 채팅방 참여와 권한 확인은 연결 후 구독 시점에 이루어짐
+            if (token != null) {
                 try {
                     // 토큰 검증
                     if (jwtTokenProvider.validateToken(token)) {
                         String username = jwtTokenProvider.getUsername(token);
                         Long userId = jwtTokenProvider.getUserId(token);
 
-                        // roomId를 Long 타입으로 변환
-                        Long roomId = Long.parseLong(roomIdStr);
-
                         logger.info("Token is valid. Username: {}, UserId: {}", username, userId);
 
-                        // 속성 맵에 userId와 roomId를 저장
+                        // 속성 맵에 userId와 (지정된 경우) roomId를 저장
                         attributes.put("userId", userId);
-                        attributes.put("roomId", roomId);
-                        logger.info("Attributes set: userId={}, roomId={}", userId, roomId);
+                        if (roomIdStr != null) {
+                            attributes.put("roomId", Long.parseLong(roomIdStr));
+                        }
+                        logger.info("Attributes set: userId={}, roomId={}", userId, roomIdStr);
                         return true;
                     } else {
                         logger.warn("Invalid token: {}", token);
@@ -74,7 +87,7 @@ public class AuthenticationHandshakeInterceptor implements HandshakeInterceptor
                     logger.error("Error during token validation or parsing roomId: {}", e.getMessage(), e);
                 }
             } else {
-                logger.warn("Missing token or roomId in query parameters.");
+                logger.warn("Missing token in query parameters.");
             }
         } else {
             logger.warn("No query parameters found in the handshake request.");
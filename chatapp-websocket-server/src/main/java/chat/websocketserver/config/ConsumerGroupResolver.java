@@ -0,0 +1,61 @@
+package chat.websocketserver.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * WebSocket 노드가 사용할 Kafka 컨슈머 그룹 ID를 결정하는 컴포넌트.
+ * 클러스터 팬아웃 모드에서는 노드마다 고유한 그룹 ID를 사용하여
+ * 모든 WebSocket 인스턴스가 브로드캐스트 대상 이벤트를 빠짐없이 수신하도록 함.
+ */
+@Component
+public class ConsumerGroupResolver {
+
+    private final boolean fanOutEnabled;
+    private final InstanceIdentity instanceIdentity;
+
+    /**
+     * 생성자 주입을 통해 설정 값과 인스턴스 식별자를 주입받음.
+     *
+     * @param fanOutEnabled    클러스터 팬아웃 모드 활성화 여부
+     * @param instanceIdentity 현재 노드의 인스턴스 식별자
+     */
+    public ConsumerGroupResolver(@Value("${websocket.kafka.fan-out.enabled:false}") boolean fanOutEnabled,
+                                 InstanceIdentity instanceIdentity) {
+        this.fanOutEnabled = fanOutEnabled;
+        this.instanceIdentity = instanceIdentity;
+    }
+
+    /**
+     * 기본 그룹 ID로부터 실제 사용할 그룹 ID를 결정함.
+     *
+     * @param baseGroupId 기본 그룹 ID
+     * @return 팬아웃 모드이면 인스턴스 ID가 붙은 그룹 ID, 아니면 기본 그룹 ID
+     */
+    public String resolve(String baseGroupId) {
+        if (!fanOutEnabled) {
+            return baseGroupId;
+        }
+        return baseGroupId + "-" + instanceIdentity.getInstanceId();
+    }
+
+    /**
+     * 팬아웃 모드 여부와 관계없이 노드마다 고유한 그룹 ID를 반환함.
+     * 캐시 무효화처럼 모든 노드가 반드시 수신해야 하는 이벤트에 사용함.
+     *
+     * @param baseGroupId 기본 그룹 ID
+     * @return 인스턴스 ID가 붙은 그룹 ID
+     */
+    public String resolvePerNode(String baseGroupId) {
+        return baseGroupId + "-" + instanceIdentity.getInstanceId();
+    }
+
+    /**
+     * 클러스터 팬아웃 모드 활성화 여부를 반환함.
+     *
+     * @return 팬아웃 모드이면 true
+     */
+    public boolean isFanOutEnabled() {
+        return fanOutEnabled;
+    }
+}
@@ -0,0 +1,113 @@
+package chat.websocketserver.config;
+
+import chat.websocketserver.session.CompressionBudget;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.web.socket.server.HandshakeFailureException;
+import org.springframework.web.socket.server.standard.ServerEndpointRegistration;
+import org.springframework.web.socket.server.standard.TomcatRequestUpgradeStrategy;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.websocket.CloseReason;
+import javax.websocket.Endpoint;
+import javax.websocket.EndpointConfig;
+import javax.websocket.Extension;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * permessage-deflate 협상을 직접 제어하는 Tomcat 업그레이드 전략.
+ * Tomcat은 핸드셰이크에서 선택된 확장이 없으면 설치된 모든 확장을 기준으로 다시 협상하므로,
+ * 기본 전략에서는 클라이언트(브라우저는 항상 제안함)가 요청하기만 하면 압축이 켜짐.
+ * 이 전략은 엔드포인트 설정의 확장 협상 단계에서 CompressionBudget이 허용한 경우에만 압축을 수락함.
+ * 허용 시 예약된 슬롯은 업그레이드가 실패하면 바로, 성공하면 엔드포인트가 닫힐 때 반환함.
+ */
+public class DeflateNegotiatingUpgradeStrategy extends TomcatRequestUpgradeStrategy {
+
+    private final CompressionBudget compressionBudget;
+
+    public DeflateNegotiatingUpgradeStrategy(CompressionBudget compressionBudget) {
+        this.compressionBudget = compressionBudget;
+    }
+
+    @Override
+    public void upgradeInternal(ServerHttpRequest request, ServerHttpResponse response,
+                                @Nullable String selectedProtocol, List<Extension> selectedExtensions, Endpoint endpoint)
+            throws HandshakeFailureException {
+
+        HttpServletRequest servletRequest = getHttpServletRequest(request);
+        HttpServletResponse servletResponse = getHttpServletResponse(response);
+
+        AtomicBoolean reserved = new AtomicBoolean();
+        Endpoint budgetedEndpoint = new Endpoint() {
+            @Override
+            public void onOpen(Session session, EndpointConfig config) {
+                endpoint.onOpen(session, config);
+            }
+
+            @Override
+            public void onClose(Session session, CloseReason closeReason) {
+                try {
+                    endpoint.onClose(session, closeReason);
+                } finally {
+                    release(reserved);
+                }
+            }
+
+            @Override
+            public void onError(Session session, Throwable thr) {
+                endpoint.onError(session, thr);
+            }
+        };
+
+        ServerEndpointRegistration endpointConfig = new ServerEndpointRegistration(servletRequest.getRequestURI(), budgetedEndpoint) {
+            @Override
+            public List<Extension> getNegotiatedExtensions(List<Extension> installed, List<Extension> requested) {
+                List<Extension> negotiated = super.getNegotiatedExtensions(installed, requested);
+                boolean deflateRequested = negotiated.stream()
+                        .anyMatch(extension -> CompressionBudget.PERMESSAGE_DEFLATE.equals(extension.getName()));
+                if (!deflateRequested) {
+                    return negotiated;
+                }
+                if (compressionBudget.admit()) {
+                    reserved.set(true);
+                    return negotiated;
+                }
+                return negotiated.stream()
+                        .filter(extension -> !CompressionBudget.PERMESSAGE_DEFLATE.equals(extension.getName()))
+                        .collect(Collectors.toList());
+            }
+        };
+        endpointConfig.setSubprotocols(Collections.singletonList(selectedProtocol));
+        endpointConfig.setExtensions(selectedExtensions);
+
+        try {
+            getContainer(servletRequest).doUpgrade(servletRequest, servletResponse, endpointConfig,
+                    Collections.emptyMap());
+        } catch (ServletException ex) {
+            release(reserved);
+            throw new HandshakeFailureException(
+                    "Servlet request failed to upgrade to WebSocket: " + servletRequest.getRequestURL(), ex);
+        } catch (IOException ex) {
+            release(reserved);
+            throw new HandshakeFailureException(
+                    "Response update failed during upgrade to WebSocket: " + servletRequest.getRequestURL(), ex);
+        } catch (RuntimeException ex) {
+            release(reserved);
+            throw ex;
+        }
+    }
+
+    private void release(AtomicBoolean reserved) {
+        if (reserved.compareAndSet(true, false)) {
+            compressionBudget.release();
+        }
+    }
+}
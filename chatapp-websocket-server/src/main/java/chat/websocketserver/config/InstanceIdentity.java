@@ -0,0 +1,60 @@
+package chat.websocketserver.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 현재 WebSocket 노드를 식별하는 인스턴스 ID를 제공하는 컴포넌트.
+ * Eureka에 등록된 인스턴스 ID를 우선 사용하고, 없을 경우 호스트명 기반 ID를 사용함.
+ */
+@Component
+public class InstanceIdentity {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceIdentity.class);
+
+    private final String instanceId;
+
+    /**
+     * 생성자 주입을 통해 Eureka 인스턴스 설정을 주입받음.
+     *
+     * @param eurekaInstanceConfig Eureka 인스턴스 설정 (Eureka 비활성화 시 없음)
+     * @param applicationName      애플리케이션 이름
+     * @param serverPort           서버 포트
+     */
+    public InstanceIdentity(ObjectProvider<EurekaInstanceConfigBean> eurekaInstanceConfig,
+                            @Value("${spring.application.name}") String applicationName,
+                            @Value("${server.port:8084}") int serverPort) {
+        EurekaInstanceConfigBean config = eurekaInstanceConfig.getIfAvailable();
+        if (config != null && config.getInstanceId() != null && !config.getInstanceId().isEmpty()) {
+            this.instanceId = config.getInstanceId();
+        } else {
+            this.instanceId = resolveHostName() + ":" + applicationName + ":" + serverPort;
+        }
+        logger.info("Resolved websocket instance ID: {}", instanceId);
+    }
+
+    /**
+     * 현재 노드의 인스턴스 ID를 반환함.
+     *
+     * @return 인스턴스 ID
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            logger.warn("Could not resolve local host name. Falling back to 'localhost'.");
+            return "localhost";
+        }
+    }
+}
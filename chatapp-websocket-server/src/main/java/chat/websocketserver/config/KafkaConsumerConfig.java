@@ -1,10 +1,18 @@
 package chat.websocketserver.config;
 
+import chat.common.token.TokenRevocationEvent;
+import chat.common.token.TokenRevocationListener;
+import chat.common.token.TokenRevocationRegistry;
+import chat.websocketserver.event.ChatRoomEvent;
 import chat.websocketserver.event.MessageEvent;
+import chat.websocketserver.event.UserEvent;
 import chat.websocketserver.event.UserPresenceEvent;
+import chat.websocketserver.listener.RoomPartitionTracker;
 import chat.websocketserver.model.Message;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.CooperativeStickyAssignor;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +33,27 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // 파티션 친화 모드: 노드별로 안정적인 파티션(채팅방) 집합을 유지함
+    @Value("${websocket.kafka.partition-affinity.enabled:false}")
+    private boolean partitionAffinityEnabled;
+
+    // 배치 리스너 모드에서 한 번의 poll로 가져올 최대 레코드 수
+    @Value("${websocket.kafka.message-listener.batch.max-records:500}")
+    private int batchMaxRecords;
+
+    // 배치 리스너 모드에서 poll 사이 대기 시간(ms)
+    @Value("${websocket.kafka.message-listener.batch.linger-ms:5}")
+    private long batchLingerMs;
+
+    @Autowired
+    private InstanceIdentity instanceIdentity;
+
+    @Autowired
+    private ConsumerGroupResolver consumerGroupResolver;
+
+    @Autowired
+    private RoomPartitionTracker roomPartitionTracker;
+
     // MessageEvent ConsumerFactory 및 ListenerContainerFactory
     @Bean
     public ConsumerFactory<String, MessageEvent> messageEventConsumerFactory() {
@@ -33,7 +62,9 @@ public class KafkaConsumerConfig {
 
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, "message_event_group");
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolve("message_event_group"));
+        applyPartitionAffinity(props);
+        applyFanOut(props);
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
@@ -46,6 +77,38 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, MessageEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(messageEventConsumerFactory());
+        factory.getContainerProperties().setConsumerRebalanceListener(roomPartitionTracker);
+        return factory;
+    }
+
+    // MessageEvent 배치 ConsumerFactory 및 ListenerContainerFactory
+    @Bean
+    public ConsumerFactory<String, MessageEvent> messageEventBatchConsumerFactory() {
+        JsonDeserializer<MessageEvent> deserializer = new JsonDeserializer<>(MessageEvent.class);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolve("message_event_group"));
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxRecords);
+        applyPartitionAffinity(props);
+        applyFanOut(props);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MessageEvent> messageEventBatchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, MessageEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(messageEventBatchConsumerFactory());
+        factory.setBatchListener(true);
+        // poll 사이에 잠시 대기하여 한 번의 poll에 더 많은 레코드가 모이도록 함
+        factory.getContainerProperties().setIdleBetweenPolls(batchLingerMs);
+        factory.getContainerProperties().setConsumerRebalanceListener(roomPartitionTracker);
         return factory;
     }
 
@@ -58,7 +121,9 @@ public class KafkaConsumerConfig {
 
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, "user_presence_group");
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolve("user_presence_group"));
+        applyPartitionAffinity(props);
+        applyFanOut(props);
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
@@ -71,6 +136,132 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, UserPresenceEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(userPresenceEventConsumerFactory());
+        factory.getContainerProperties().setConsumerRebalanceListener(roomPartitionTracker);
+        return factory;
+    }
+
+    // ChatRoomEvent ConsumerFactory 및 ListenerContainerFactory
+    @Bean
+    public ConsumerFactory<String, ChatRoomEvent> chatRoomEventConsumerFactory() {
+        // chat-service는 자신의 패키지 타입 정보를 헤더에 담으므로 타입 헤더를 무시하고 로컬 타입으로 역직렬화함
+        JsonDeserializer<ChatRoomEvent> deserializer = new JsonDeserializer<>(ChatRoomEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolve("websocket_group"));
+        applyFanOut(props);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ChatRoomEvent> chatRoomEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ChatRoomEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(chatRoomEventConsumerFactory());
         return factory;
     }
+
+    // UserEvent ConsumerFactory 및 ListenerContainerFactory
+    @Bean
+    public ConsumerFactory<String, UserEvent> userEventConsumerFactory() {
+        // user-service는 타입 헤더를 추가하지 않으므로 로컬 타입으로 역직렬화함
+        JsonDeserializer<UserEvent> deserializer = new JsonDeserializer<>(UserEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // 캐시 무효화는 모든 노드가 받아야 하므로 항상 노드별 그룹을 사용하고, 최신 이벤트부터 소비함
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolvePerNode("websocket_user_event_group"));
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, UserEvent> userEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, UserEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(userEventConsumerFactory());
+        return factory;
+    }
+
+    // TokenRevocationEvent ConsumerFactory 및 ListenerContainerFactory
+    @Bean
+    public ConsumerFactory<String, TokenRevocationEvent> tokenRevocationConsumerFactory() {
+        JsonDeserializer<TokenRevocationEvent> deserializer = new JsonDeserializer<>(TokenRevocationEvent.class, false);
+        deserializer.addTrustedPackages("*");
+
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        // 폐기 목록은 모든 노드가 가져야 하므로 항상 노드별 그룹을 사용함. 시작 위치는 리스너가 지정함
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, consumerGroupResolver.resolvePerNode("token_revocation_group"));
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                deserializer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> tokenRevocationKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, TokenRevocationEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(tokenRevocationConsumerFactory());
+        return factory;
+    }
+
+    /**
+     * 토큰 폐기 이벤트 리스너를 등록하는 Bean.
+     * 시작 시 토큰 유효 기간만큼 이전 시점부터 폐기 이벤트를 다시 읽음.
+     *
+     * @param tokenRevocationRegistry 폐기 목록
+     * @param validityInMinutes       액세스 토큰 유효 기간(분)
+     * @return TokenRevocationListener
+     */
+    @Bean
+    public TokenRevocationListener tokenRevocationListener(TokenRevocationRegistry tokenRevocationRegistry,
+                                                           @Value("${jwt.access.expiration.minutes}") long validityInMinutes) {
+        return new TokenRevocationListener(tokenRevocationRegistry, validityInMinutes);
+    }
+
+    /**
+     * 파티션 친화 모드가 활성화된 경우 컨슈머 설정을 보강함.
+     * Sticky 할당 전략과 정적 멤버십(group.instance.id)을 사용하여
+     * 리밸런스나 재시작 후에도 각 노드가 같은 파티션, 즉 같은 채팅방 집합을 계속 담당하도록 함.
+     *
+     * @param props 컨슈머 설정 맵
+     */
+    private void applyPartitionAffinity(Map<String, Object> props) {
+        if (!partitionAffinityEnabled) {
+            return;
+        }
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, CooperativeStickyAssignor.class.getName());
+        props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, instanceIdentity.getInstanceId());
+    }
+
+    /**
+     * 클러스터 팬아웃 모드가 활성화된 경우 컨슈머 설정을 보강함.
+     * 노드별 그룹은 재시작 시 이전에 커밋된 오프셋부터 다시 읽을 필요가 없으므로
+     * 최신 오프셋부터 소비하며, 리스너는 파티션 할당 시 끝으로 이동함.
+     *
+     * @param props 컨슈머 설정 맵
+     */
+    private void applyFanOut(Map<String, Object> props) {
+        if (!consumerGroupResolver.isFanOutEnabled()) {
+            return;
+        }
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    }
 }
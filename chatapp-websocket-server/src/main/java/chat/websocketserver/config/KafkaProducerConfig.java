@@ -3,13 +3,18 @@ package chat.websocketserver.config;
 import chat.websocketserver.event.MessageEvent;
 import chat.websocketserver.event.UserPresenceEvent;
 import chat.websocketserver.model.Message;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -19,20 +24,29 @@ import java.util.Map;
 @Configuration
 public class KafkaProducerConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(KafkaProducerConfig.class);
+
+    private static final String PROFILE_LOW_LATENCY = "low-latency";
+    private static final String PROFILE_HIGH_THROUGHPUT = "high-throughput";
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // default: 클라이언트 기본값, low-latency: 배치 대기 없음, high-throughput: 큰 배치 + zstd 압축
+    @Value("${websocket.kafka.producer.profile:default}")
+    private String producerProfile;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Bean
     public ProducerFactory<String, MessageEvent> messageEventProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        Map<String, Object> configProps = producerConfigs();
         // Configure the JsonSerializer
         JsonSerializer<MessageEvent> jsonSerializer = new JsonSerializer<>();
         jsonSerializer.setAddTypeInfo(true);
 
-        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer);
+        return withMetrics(new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer));
     }
 
     @Bean(name = "messageEventKafkaTemplate")
@@ -43,19 +57,57 @@ public class KafkaProducerConfig {
     // ProducerFactory and KafkaTemplate for UserPresenceEvent
     @Bean
     public ProducerFactory<String, UserPresenceEvent> userPresenceEventProducerFactory() {
-        Map<String, Object> configProps = new HashMap<>();
-        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        Map<String, Object> configProps = producerConfigs();
         // Configure the JsonSerializer
         JsonSerializer<UserPresenceEvent> jsonSerializer = new JsonSerializer<>();
         jsonSerializer.setAddTypeInfo(true); // 타입 정보를 포함하도록 설정
 
-        return new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer);
+        return withMetrics(new DefaultKafkaProducerFactory<>(configProps, new StringSerializer(), jsonSerializer));
     }
 
     @Bean(name = "userPresenceEventKafkaTemplate")
     public KafkaTemplate<String, UserPresenceEvent> userPresenceEventKafkaTemplate() {
         return new KafkaTemplate<>(userPresenceEventProducerFactory());
     }
+
+    /**
+     * 공통 프로듀서 설정에 선택된 프로파일의 배치/압축/멱등성 설정을 더함.
+     *
+     * @return 프로듀서 설정
+     */
+    private Map<String, Object> producerConfigs() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        if (PROFILE_LOW_LATENCY.equals(producerProfile)) {
+            configProps.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+            configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16 * 1024);
+            configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "none");
+            configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+            configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        } else if (PROFILE_HIGH_THROUGHPUT.equals(producerProfile)) {
+            configProps.put(ProducerConfig.LINGER_MS_CONFIG, 20);
+            configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 256 * 1024);
+            configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd");
+            configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+            configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 64L * 1024 * 1024);
+        } else if (!"default".equals(producerProfile)) {
+            logger.warn("Unknown producer profile '{}'. Using Kafka client defaults.", producerProfile);
+        }
+        return configProps;
+    }
+
+    /**
+     * 프로듀서 클라이언트 메트릭(배치 크기, 요청 지연 시간, 진행 중인 요청 수 등)을 Micrometer에 등록함.
+     *
+     * @param factory 프로듀서 팩토리
+     * @return 메트릭 리스너가 등록된 프로듀서 팩토리
+     */
+    private <V> DefaultKafkaProducerFactory<String, V> withMetrics(DefaultKafkaProducerFactory<String, V> factory) {
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
 }
@@ -1,11 +1,17 @@
 package chat.websocketserver.config;
 
+import chat.websocketserver.listener.ReadReceiptSubscriber;
+import chat.websocketserver.listener.TypingEventSubscriber;
+import chat.websocketserver.service.ReadReceiptAggregator;
+import chat.websocketserver.service.TypingIndicatorService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -44,4 +50,20 @@ public class RedisConfig {
                 .cacheDefaults(config)
                 .build();
     }
+
+    /**
+     * 다른 노드의 "입력 중" 신호와 압축 읽음 위치 프레임을 수신하는 Redis 채널 구독 컨테이너.
+     */
+    @Bean
+    public RedisMessageListenerContainer relayListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                TypingEventSubscriber typingEventSubscriber,
+                                                                TypingIndicatorService typingIndicatorService,
+                                                                ReadReceiptSubscriber readReceiptSubscriber,
+                                                                ReadReceiptAggregator readReceiptAggregator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(typingEventSubscriber, new ChannelTopic(typingIndicatorService.getChannel()));
+        container.addMessageListener(readReceiptSubscriber, new ChannelTopic(readReceiptAggregator.getChannel()));
+        return container;
+    }
 }
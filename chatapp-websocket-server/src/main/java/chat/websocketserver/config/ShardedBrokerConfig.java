@@ -0,0 +1,59 @@
+package chat.websocketserver.config;
+
+import chat.websocketserver.broker.RoomSubscriptionRegistry;
+import chat.websocketserver.broker.StripedBrokerTaskExecutor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * 샤딩된 브로커 모드 설정.
+ * websocket.broker.mode=sharded 일 때 기본 구독 레지스트리를 채팅방 단위 색인 레지스트리로 교체하고,
+ * 브로커 채널의 팬아웃을 roomId 스트라이프별 워커로 분산함.
+ */
+@Configuration
+@ConditionalOnProperty(name = "websocket.broker.mode", havingValue = "sharded")
+public class ShardedBrokerConfig implements WebSocketMessageBrokerConfigurer {
+
+    @Value("${websocket.broker.stripes:16}")
+    private int stripes;
+
+    @Value("${websocket.broker.stripe-queue-capacity:10000}")
+    private int stripeQueueCapacity;
+
+    /**
+     * 브로커 채널에 roomId 스트라이프 실행기를 등록함.
+     * 다른 브로커 설정은 WebSocketConfig에서 적용한 값을 그대로 사용함.
+     */
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.configureBrokerChannel().taskExecutor(new StripedBrokerTaskExecutor(stripes, stripeQueueCapacity));
+    }
+
+    /**
+     * SimpleBrokerMessageHandler의 구독 레지스트리를 채팅방 색인 레지스트리로 교체함.
+     *
+     * @param environment 스트라이프 개수를 읽을 환경 설정
+     * @return 구독 레지스트리 교체용 후처리기
+     */
+    @Bean
+    public static BeanPostProcessor roomSubscriptionRegistryPostProcessor(Environment environment) {
+        int stripeCount = environment.getProperty("websocket.broker.stripes", Integer.class, 16);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof SimpleBrokerMessageHandler) {
+                    ((SimpleBrokerMessageHandler) bean).setSubscriptionRegistry(new RoomSubscriptionRegistry(stripeCount));
+                }
+                return bean;
+            }
+        };
+    }
+}
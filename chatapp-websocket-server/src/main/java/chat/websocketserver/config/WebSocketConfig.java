@@ -1,35 +1,171 @@
 package chat.websocketserver.config;
 
+import chat.websocketserver.session.BufferedOutboundDecoratorFactory;
+import chat.websocketserver.session.CompressionBudget;
+import chat.websocketserver.session.HeartbeatNegotiationInterceptor;
+import chat.websocketserver.session.PayloadEncodingInterceptor;
+import chat.websocketserver.session.RoomSubscriptionInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.util.concurrent.RejectedExecutionException;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    // 허용할 클라이언트 출처
+    private static final String[] ALLOWED_ORIGIN_PATTERNS = {
+            "http://localhost:8084",    // 클라이언트 출처 추가
+            "http://localhost:3001",    // 클라이언트 출처 추가
+            "http://localhost:8000",
+            "http://websocket-service:8084"
+    };
+
     @Autowired
     private AuthenticationHandshakeInterceptor authenticationHandshakeInterceptor; // 인터셉터 주입
 
+    @Autowired
+    private BufferedOutboundDecoratorFactory bufferedOutboundDecoratorFactory; // 세션별 송신 버퍼 적용
+
+    @Autowired
+    private PayloadEncodingInterceptor payloadEncodingInterceptor; // 연결별 페이로드 인코딩(JSON/CBOR) 협상
+
+    @Autowired
+    private HeartbeatNegotiationInterceptor heartbeatNegotiationInterceptor; // STOMP 하트비트 협상 (전송/유휴 확인은 HeartbeatWheel)
+
+    @Autowired
+    private RoomSubscriptionInterceptor roomSubscriptionInterceptor; // 채팅방 구독마다 접근 권한과 세션당 채팅방 수 확인
+
+    @Autowired
+    private CompressionBudget compressionBudget; // permessage-deflate 허용 여부 및 메모리 예산
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 클라이언트 인바운드/아웃바운드 채널 실행기 설정 (큐 크기를 제한하여 적체가 무한히 쌓이지 않도록 함)
+    @Value("${websocket.channel.inbound.core-pool-size:8}")
+    private int inboundCorePoolSize;
+
+    @Value("${websocket.channel.inbound.max-pool-size:16}")
+    private int inboundMaxPoolSize;
+
+    @Value("${websocket.channel.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${websocket.channel.outbound.core-pool-size:8}")
+    private int outboundCorePoolSize;
+
+    @Value("${websocket.channel.outbound.max-pool-size:16}")
+    private int outboundMaxPoolSize;
+
+    @Value("${websocket.channel.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    // Spring의 동시 전송 데코레이터에도 같은 값을 넘기지만, 세션별 송신 버퍼가 그 안쪽에서 즉시 반환하므로
+    // 실제 제한은 BufferedOutboundSession(SessionOutboundRegistry)이 같은 설정으로 적용함
+    @Value("${websocket.session.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.session.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");  // /topic으로 시작하는 메시지를 브로커가 처리
+        config.enableSimpleBroker("/topic", "/queue");  // /topic(채팅방), /queue(세션별 영수증/오류) 메시지를 브로커가 처리
         config.setApplicationDestinationPrefixes("/app");  // 클라이언트에서 보낸 메시지의 prefix
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
+        DefaultHandshakeHandler handshakeHandler =
+                new DefaultHandshakeHandler(new DeflateNegotiatingUpgradeStrategy(compressionBudget)); // 압축 협상
+
         registry.addEndpoint("/ws")
+                .setHandshakeHandler(handshakeHandler)
                 .addInterceptors(authenticationHandshakeInterceptor) // 인터셉터 추가
-                .setAllowedOriginPatterns(
-                        "http://localhost:8084",    // 클라이언트 출처 추가
-                        "http://localhost:3001",    // 클라이언트 출처 추가
-                        "http://localhost:8000",
-                        "http://websocket-service:8084"
-                )
+                .setAllowedOriginPatterns(ALLOWED_ORIGIN_PATTERNS)
                 .withSockJS();
+
+        // SockJS 프레이밍과 HTTP 폴백 없이 바로 연결하는 순수 WebSocket 엔드포인트 (같은 핸드셰이크 인증 사용)
+        registry.addEndpoint("/ws-native")
+                .setHandshakeHandler(handshakeHandler)
+                .addInterceptors(authenticationHandshakeInterceptor)
+                .setAllowedOriginPatterns(ALLOWED_ORIGIN_PATTERNS);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(boundedChannelExecutor("inbound", inboundCorePoolSize, inboundMaxPoolSize,
+                inboundQueueCapacity));
+        registration.interceptors(heartbeatNegotiationInterceptor, payloadEncodingInterceptor, roomSubscriptionInterceptor);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(boundedChannelExecutor("outbound", outboundCorePoolSize, outboundMaxPoolSize,
+                outboundQueueCapacity));
+        registration.interceptors(heartbeatNegotiationInterceptor, payloadEncodingInterceptor);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(bufferedOutboundDecoratorFactory);
+    }
+
+    /**
+     * 큐 크기가 제한된 채널 실행기를 생성함.
+     * 큐가 가득 차 거부된 작업 수와 현재 큐 길이를 채널별 메트릭으로 노출함.
+     *
+     * @param channel       채널 이름 (inbound 또는 outbound)
+     * @param corePoolSize  기본 스레드 수
+     * @param maxPoolSize   큐가 가득 찼을 때 늘어날 수 있는 최대 스레드 수
+     * @param queueCapacity 대기 작업 큐 크기
+     * @return 채널 실행기
+     */
+    private ThreadPoolTaskExecutor boundedChannelExecutor(String channel, int corePoolSize, int maxPoolSize,
+                                                          int queueCapacity) {
+        Counter rejected = Counter.builder("websocket.channel.rejected")
+                .description("Messages rejected because the client channel executor queue was full")
+                .tag("channel", channel)
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            throw new RejectedExecutionException("Client " + channel + " channel queue is full (capacity "
+                    + queueCapacity + ")");
+        });
+
+        Gauge.builder("websocket.channel.queued", executor, WebSocketConfig::queuedTasks)
+                .description("Messages waiting in the client channel executor queue")
+                .tag("channel", channel)
+                .register(meterRegistry);
+        return executor;
+    }
+
+    private static double queuedTasks(ThreadPoolTaskExecutor executor) {
+        try {
+            return executor.getThreadPoolExecutor().getQueue().size();
+        } catch (IllegalStateException e) {
+            return 0; // 아직 초기화되지 않았거나 종료된 실행기
+        }
     }
 }
@@ -2,8 +2,11 @@ package chat.websocketserver.controller;
 
 import chat.websocketserver.event.MessageEvent;
 import chat.websocketserver.model.Message;
+import chat.websocketserver.ratelimit.SendRateLimiter;
+import chat.websocketserver.service.MessagePublisher;
+import chat.websocketserver.session.RoomMembership;
+import chat.websocketserver.util.SnowflakeIdGenerator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -16,44 +19,75 @@ import java.util.Map;
 @Slf4j
 public class ChatController {
 
-    private static final String MESSAGE_TOPIC = "message-events";
-
-    private final KafkaTemplate<String, MessageEvent> kafkaTemplate;
+    private final MessagePublisher messagePublisher;
+    private final SnowflakeIdGenerator idGenerator;
+    private final SendRateLimiter sendRateLimiter;
 
     /**
-     * 생성자 주입을 통해 KafkaTemplate을 주입받음.
+     * 생성자 주입을 통해 의존성을 주입받음.
      *
-     * @param kafkaTemplate KafkaTemplate 빈
+     * @param messagePublisher 메시지 이벤트 발행 서비스
+     * @param idGenerator      메시지 ID 생성기
+     * @param sendRateLimiter  사용자별/채팅방별 전송 제한기
      */
-    public ChatController(KafkaTemplate<String, MessageEvent> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public ChatController(MessagePublisher messagePublisher, SnowflakeIdGenerator idGenerator,
+                          SendRateLimiter sendRateLimiter) {
+        this.messagePublisher = messagePublisher;
+        this.idGenerator = idGenerator;
+        this.sendRateLimiter = sendRateLimiter;
     }
 
     /**
      * 클라이언트로부터 메시지를 수신하고, 이를 Kafka로 발행함.
+     * room-id 헤더로 구독 중인 채팅방 중 하나를 지정할 수 있으며, 구독하지 않은 채팅방으로는 보낼 수 없음.
+     * SEND 프레임에 client-message-id 헤더가 있으면 기록 확인 후 /user/queue/receipts로 영수증을 보냄.
      *
      * @param message           클라이언트로부터 수신한 메시지 페이로드
      * @param sessionAttributes 웹소켓 세션의 속성 맵
+     * @param sessionId         웹소켓 세션 ID
+     * @param clientMessageId   클라이언트가 부여한 메시지 식별자 (선택)
+     * @param requestedRoomId   메시지를 보낼 채팅방 ID (선택, 없으면 핸드셰이크에서 지정한 기본 채팅방이며 어느 쪽이든 구독 중이어야 함)
      */
     @MessageMapping("/chat.sendMessage")
     public void sendMessage(@Payload Message message,
-                            @Header("simpSessionAttributes") Map<String, Object> sessionAttributes) {
+                            @Header("simpSessionAttributes") Map<String, Object> sessionAttributes,
+                            @Header("simpSessionId") String sessionId,
+                            @Header(value = "client-message-id", required = false) String clientMessageId,
+                            @Header(value = "room-id", required = false) Long requestedRoomId) {
         try {
             log.debug("sessionAttributes =>" + sessionAttributes);
 
             Long userId = (Long) sessionAttributes.get("userId");
-            Long roomId = (Long) sessionAttributes.get("roomId");
+            Long roomId = RoomMembership.resolveRoom(sessionAttributes, requestedRoomId);
+
+            // 구독하지 않은 채팅방으로는 보낼 수 없음 (핸드셰이크의 기본 채팅방도 구독해야 함)
+            Long targetRoomId = requestedRoomId != null ? requestedRoomId : (Long) sessionAttributes.get("roomId");
+            if (targetRoomId != null && roomId == null) {
+                log.warn("userId: {} is not subscribed to roomId: {}. Message is rejected.", userId, targetRoomId);
+                messagePublisher.reject(sessionId, clientMessageId, targetRoomId, "FORBIDDEN",
+                        "구독 중인 채팅방에만 메시지를 보낼 수 있습니다.");
+                return;
+            }
 
             if (userId == null || roomId == null ) {
                 log.warn("User ID, Room ID 또는 Username이 null입니다. 메시지가 처리되지 않습니다.");
                 return;
             }
 
+            // 전송 한도를 넘은 메시지는 Kafka로 발행하지 않고 오류로 응답
+            if (!sendRateLimiter.tryAcquire(userId, roomId)) {
+                log.warn("Rate limit exceeded for userId: {}, roomId: {}", userId, roomId);
+                messagePublisher.reject(sessionId, clientMessageId, roomId, "THROTTLED",
+                        "메시지를 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요.");
+                return;
+            }
+
             // 메시지 수신 확인 로그
             log.info("Received message from userId: {}, roomId: {}", userId, roomId);
             log.debug("Message content: {}", message.getContent());
 
-            // 메시지 객체 설정
+            // 메시지 객체 설정 (ID는 발행 전에 부여하여 저장/중복 제거/페이지네이션에 같은 값을 사용)
+            message.setId(idGenerator.nextIdString());
             message.setUserId(userId);
             message.setRoomId(roomId);
             message.setTimestamp(LocalDateTime.now());
@@ -61,8 +95,8 @@ public class ChatController {
             // 메시지 이벤트 생성
             MessageEvent event = new MessageEvent("SEND", message);
 
-            // Kafka로 메시지 이벤트 발행
-            kafkaTemplate.send(MESSAGE_TOPIC, event);
+            // Kafka로 메시지 이벤트 비동기 발행 (roomId를 키로 사용하여 채팅방 단위 순서 보장)
+            messagePublisher.publish(event, roomId, sessionId, clientMessageId);
             log.info("MessageEvent sent to Kafka: {}", event);
 
         } catch (Exception e) {
@@ -0,0 +1,48 @@
+package chat.websocketserver.controller;
+
+import chat.websocketserver.model.PresenceSnapshot;
+import chat.websocketserver.model.User;
+import chat.websocketserver.service.ChatRoomUserService;
+import chat.websocketserver.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.Set;
+
+@Controller
+@Slf4j
+public class PresenceController {
+
+    private final ChatRoomUserService chatRoomUserService;
+    private final UserService userService;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param chatRoomUserService 채팅방 사용자 서비스
+     * @param userService         유저 서비스
+     */
+    public PresenceController(ChatRoomUserService chatRoomUserService, UserService userService) {
+        this.chatRoomUserService = chatRoomUserService;
+        this.userService = userService;
+    }
+
+    /**
+     * 클라이언트가 "/app/chatroom-{roomId}-presence"를 구독하면 버전이 포함된 참여자 스냅샷을 한 번 응답함.
+     * 버전을 먼저 읽고 멤버를 읽으므로, 클라이언트가 스냅샷 버전보다 큰 변경분을 다시 적용해도 결과가 같음.
+     *
+     * @param roomId 채팅방 ID
+     * @return 참여자 스냅샷
+     */
+    @SubscribeMapping("/chatroom-{roomId}-presence")
+    public PresenceSnapshot presenceSnapshot(@DestinationVariable Long roomId) {
+        long version = chatRoomUserService.getPresenceVersion(roomId);
+        Set<Long> userIds = chatRoomUserService.getUsersInChatRoom(roomId);
+        List<User> users = userService.getUsersByIds(userIds);
+        log.info("Sent presence snapshot of ChatRoom ID: {} at version {} ({} users)", roomId, version, users.size());
+        return new PresenceSnapshot(roomId, version, users);
+    }
+}
@@ -0,0 +1,55 @@
+package chat.websocketserver.controller;
+
+import chat.websocketserver.service.ReadReceiptAggregator;
+import chat.websocketserver.session.RoomMembership;
+import chat.websocketserver.util.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+@Slf4j
+public class ReadReceiptController {
+
+    private final ReadReceiptAggregator readReceiptAggregator;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param readReceiptAggregator 읽음 위치 집계 서비스
+     */
+    public ReadReceiptController(ReadReceiptAggregator readReceiptAggregator) {
+        this.readReceiptAggregator = readReceiptAggregator;
+    }
+
+    /**
+     * 클라이언트가 "메시지 X까지 읽음"을 알림. 위치는 메모리에서 병합된 뒤 주기적으로 저장/브로드캐스트됨.
+     * 메시지 ID는 19자리 Snowflake ID만 허용함.
+     *
+     * @param payload           {"messageId": "..."}
+     * @param sessionAttributes 웹소켓 세션의 속성 맵
+     * @param requestedRoomId   대상 채팅방 ID (선택, 없으면 기본 채팅방이며 어느 쪽이든 구독 중인 채팅방만 허용함)
+     */
+    @MessageMapping("/chat.read")
+    public void markRead(@Payload Map<String, Object> payload,
+                         @Header("simpSessionAttributes") Map<String, Object> sessionAttributes,
+                         @Header(value = "room-id", required = false) Long requestedRoomId) {
+        Long userId = (Long) sessionAttributes.get("userId");
+        Long roomId = RoomMembership.resolveRoom(sessionAttributes, requestedRoomId);
+        Object messageId = payload.get("messageId");
+        if (userId == null || roomId == null || messageId == null) {
+            log.debug("Ignoring read receipt without userId, roomId or messageId");
+            return;
+        }
+        // 문자열 순서로 병합/저장하므로 Snowflake 형식이 아닌 값(이전 ObjectId 등)은 받지 않음
+        if (!SnowflakeIdGenerator.isIdString(messageId.toString())) {
+            log.debug("Ignoring read receipt with invalid messageId: {}", messageId);
+            return;
+        }
+        readReceiptAggregator.markRead(roomId, userId, messageId.toString());
+    }
+}
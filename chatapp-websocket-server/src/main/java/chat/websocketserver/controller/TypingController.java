@@ -0,0 +1,48 @@
+package chat.websocketserver.controller;
+
+import chat.websocketserver.service.TypingIndicatorService;
+import chat.websocketserver.session.RoomMembership;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+@Slf4j
+public class TypingController {
+
+    private final TypingIndicatorService typingIndicatorService;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param typingIndicatorService 입력 중 신호 서비스
+     */
+    public TypingController(TypingIndicatorService typingIndicatorService) {
+        this.typingIndicatorService = typingIndicatorService;
+    }
+
+    /**
+     * 클라이언트의 "입력 중" 신호를 수신하여 채팅방의 "/topic/chatroom-{roomId}-typing"으로 전달함.
+     * 신호는 Kafka로 발행하거나 저장하지 않음.
+     *
+     * @param payload           {"typing": true|false}
+     * @param sessionAttributes 웹소켓 세션의 속성 맵
+     * @param requestedRoomId   대상 채팅방 ID (선택, 없으면 기본 채팅방이며 어느 쪽이든 구독 중인 채팅방만 허용함)
+     */
+    @MessageMapping("/chat.typing")
+    public void typing(@Payload Map<String, Object> payload,
+                       @Header("simpSessionAttributes") Map<String, Object> sessionAttributes,
+                       @Header(value = "room-id", required = false) Long requestedRoomId) {
+        Long userId = (Long) sessionAttributes.get("userId");
+        Long roomId = RoomMembership.resolveRoom(sessionAttributes, requestedRoomId);
+        if (userId == null || roomId == null) {
+            log.debug("Ignoring typing event without userId or roomId");
+            return;
+        }
+        typingIndicatorService.onLocalTyping(roomId, userId, !Boolean.FALSE.equals(payload.get("typing")));
+    }
+}
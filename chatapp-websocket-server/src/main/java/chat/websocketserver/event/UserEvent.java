@@ -0,0 +1,81 @@
+package chat.websocketserver.event;
+
+import chat.websocketserver.model.User;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * user-service가 발행하는 사용자 이벤트를 나타내는 클래스.
+ * 로컬 프로필 캐시를 무효화하는 데 사용됨.
+ */
+public class UserEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String action; // 이벤트 유형 (CREATE, UPDATE, DELETE)
+    private User user;     // 관련된 사용자 정보
+
+    /**
+     * 기본 생성자. JSON deserialization에 필요함.
+     */
+    public UserEvent() {}
+
+    /**
+     * 생성자 주입을 통해 필드를 설정함.
+     *
+     * @param action 이벤트 유형 (CREATE, UPDATE, DELETE)
+     * @param user   관련된 사용자 정보
+     */
+    @JsonCreator
+    public UserEvent(
+            @JsonProperty("action") String action,
+            @JsonProperty("user") User user) {
+        this.action = action;
+        this.user = user;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        UserEvent that = (UserEvent) o;
+
+        if (!Objects.equals(action, that.action)) return false;
+        return Objects.equals(user, that.user);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = action != null ? action.hashCode() : 0;
+        result = 31 * result + (user != null ? user.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "UserEvent{" +
+                "action='" + action + '\'' +
+                ", user=" + (user != null ? user.getId() : null) +
+                '}';
+    }
+}
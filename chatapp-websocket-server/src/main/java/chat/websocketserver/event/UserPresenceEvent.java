@@ -17,6 +17,7 @@ public class UserPresenceEvent implements Serializable {
     private String action; // 이벤트 유형 ("JOIN" 또는 "LEAVE")
     private Long userId;        // 사용자 ID
     private Long roomId;        // 채팅방 ID
+    private Long version;       // 변경 후 채팅방 존재 정보 버전 (이전 버전 노드가 발행한 이벤트는 null)
 
     /**
      * 기본 생성자. JSON deserialization에 필요함.
@@ -40,6 +41,19 @@ public class UserPresenceEvent implements Serializable {
         this.roomId = roomId;
     }
 
+    /**
+     * 존재 정보 버전을 포함하여 필드를 설정함.
+     *
+     * @param action  이벤트 유형 ("JOIN" 또는 "LEAVE")
+     * @param userId  사용자 ID
+     * @param roomId  채팅방 ID
+     * @param version 변경 후 채팅방 존재 정보 버전
+     */
+    public UserPresenceEvent(String action, Long userId, Long roomId, Long version) {
+        this(action, userId, roomId);
+        this.version = version;
+    }
+
     public String getAction() {
         return action;
     }
@@ -64,6 +78,14 @@ public class UserPresenceEvent implements Serializable {
         this.roomId = roomId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -73,7 +95,8 @@ public class UserPresenceEvent implements Serializable {
 
         if (!Objects.equals(action, that.action)) return false;
         if (!Objects.equals(userId, that.userId)) return false;
-        return Objects.equals(roomId, that.roomId);
+        if (!Objects.equals(roomId, that.roomId)) return false;
+        return Objects.equals(version, that.version);
     }
 
     @Override
@@ -81,6 +104,7 @@ public class UserPresenceEvent implements Serializable {
         int result = action != null ? action.hashCode() : 0;
         result = 31 * result + (userId != null ? userId.hashCode() : 0);
         result = 31 * result + (roomId != null ? roomId.hashCode() : 0);
+        result = 31 * result + (version != null ? version.hashCode() : 0);
         return result;
     }
 
@@ -90,6 +114,7 @@ public class UserPresenceEvent implements Serializable {
                 "action='" + action + '\'' +
                 ", userId=" + userId +
                 ", roomId=" + roomId +
+                ", version=" + version +
                 '}';
     }
 }
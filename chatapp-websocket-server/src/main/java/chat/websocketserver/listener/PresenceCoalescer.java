@@ -0,0 +1,212 @@
+package chat.websocketserver.listener;
+
+import chat.websocketserver.model.PresenceDelta;
+import chat.websocketserver.model.User;
+import chat.websocketserver.service.ChatRoomUserService;
+import chat.websocketserver.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 채팅방별 존재 정보 변경을 일정 시간 동안 모아 한 번에 브로드캐스트하는 컴포넌트.
+ * 노드 재시작 등으로 참여 이벤트가 몰릴 때 채팅방마다 윈도우당 한 번만 브로드캐스트하도록 함.
+ * full 모드에서는 전체 유저 목록을 한 번, delta 모드에서는 사용자별 최종 변경분 배열을 한 번 전송함.
+ * 윈도우가 0이면 이벤트마다 즉시 브로드캐스트하며, delta 모드의 프레임은 단일 변경분 객체가 됨.
+ */
+@Component
+public class PresenceCoalescer implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceCoalescer.class);
+
+    private static final String PRESENCE_MODE_DELTA = "delta";
+
+    private final ChatRoomUserService chatRoomUserService;
+    private final UserService userService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final boolean deltaMode;
+    private final long windowMs;
+
+    private final Map<Long, PendingRoom> pendingRooms = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler flushScheduler;
+
+    private final Counter eventsReceived;
+    private final Counter eventsCoalesced;
+    private final Counter broadcastsSent;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param chatRoomUserService 채팅방 사용자 서비스
+     * @param userService         유저 서비스
+     * @param messagingTemplate   STOMP 메시지 템플릿
+     * @param meterRegistry       메트릭 레지스트리
+     * @param presenceMode        존재 정보 브로드캐스트 모드 (full 또는 delta)
+     * @param windowMs            병합 윈도우(ms), 0이면 병합하지 않음
+     * @param flushThreads        병합된 변경분을 브로드캐스트하는 스레드 수
+     */
+    public PresenceCoalescer(ChatRoomUserService chatRoomUserService,
+                             UserService userService,
+                             SimpMessagingTemplate messagingTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${websocket.presence.mode:full}") String presenceMode,
+                             @Value("${websocket.presence.coalesce.window-ms:200}") long windowMs,
+                             @Value("${websocket.presence.coalesce.flush-threads:2}") int flushThreads) {
+        this.chatRoomUserService = chatRoomUserService;
+        this.userService = userService;
+        this.messagingTemplate = messagingTemplate;
+        this.deltaMode = PRESENCE_MODE_DELTA.equalsIgnoreCase(presenceMode);
+        this.windowMs = windowMs;
+
+        this.flushScheduler = new ThreadPoolTaskScheduler();
+        this.flushScheduler.setPoolSize(flushThreads);
+        this.flushScheduler.setThreadNamePrefix("presence-coalescer-");
+        this.flushScheduler.initialize();
+
+        this.eventsReceived = Counter.builder("websocket.presence.events")
+                .description("Presence events received by the coalescer")
+                .register(meterRegistry);
+        this.eventsCoalesced = Counter.builder("websocket.presence.events.coalesced")
+                .description("Presence events merged into an already pending room update")
+                .register(meterRegistry);
+        this.broadcastsSent = Counter.builder("websocket.presence.broadcasts")
+                .description("Presence broadcasts sent to rooms")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 존재 정보 변경 한 건을 제출함.
+     *
+     * @param roomId  채팅방 ID
+     * @param userId  사용자 ID
+     * @param action  이벤트 유형 ("JOIN" 또는 "LEAVE")
+     * @param version 변경 후 존재 정보 버전
+     */
+    public void submit(Long roomId, Long userId, String action, Long version) {
+        eventsReceived.increment();
+        if (windowMs <= 0) {
+            PendingRoom single = new PendingRoom();
+            single.record(userId, action, version);
+            broadcast(roomId, single);
+            return;
+        }
+
+        pendingRooms.compute(roomId, (key, pending) -> {
+            if (pending == null) {
+                pending = new PendingRoom();
+                flushScheduler.schedule(() -> flush(key), Instant.now().plusMillis(windowMs));
+            } else {
+                eventsCoalesced.increment();
+            }
+            pending.record(userId, action, version);
+            return pending;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        flushScheduler.shutdown();
+    }
+
+    private void flush(Long roomId) {
+        PendingRoom pending = pendingRooms.remove(roomId);
+        if (pending == null) {
+            return;
+        }
+        try {
+            broadcast(roomId, pending);
+        } catch (Exception e) {
+            logger.error("Failed to broadcast coalesced presence of ChatRoom ID: {}. Error: {}", roomId, e.getMessage(), e);
+        }
+    }
+
+    private void broadcast(Long roomId, PendingRoom pending) {
+        if (deltaMode) {
+            broadcastDeltas(roomId, pending);
+        } else {
+            broadcastUserList(roomId);
+        }
+        broadcastsSent.increment();
+    }
+
+    /**
+     * 특정 채팅방의 현재 유저 목록을 브로드캐스트함.
+     *
+     * @param roomId 채팅방 ID
+     */
+    private void broadcastUserList(Long roomId) {
+        Set<Long> userIds = chatRoomUserService.getUsersInChatRoom(roomId);
+        List<User> users = userService.getUsersByIds(userIds);
+        messagingTemplate.convertAndSend("/topic/chatroom-" + roomId + "-users", users);
+    }
+
+    /**
+     * 사용자별 최종 변경분을 버전 순으로 정렬하여 하나의 배열 프레임으로 브로드캐스트함.
+     * 프로필 요약은 변경된 사용자 전체를 한 번의 호출로 조회함.
+     *
+     * @param roomId  채팅방 ID
+     * @param pending 병합된 변경분
+     */
+    private void broadcastDeltas(Long roomId, PendingRoom pending) {
+        Map<Long, Change> changes = pending.snapshot();
+        Map<Long, User> profiles = userService.getUsersByIds(changes.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity(), (first, second) -> first));
+
+        List<PresenceDelta> deltas = new ArrayList<>(changes.size());
+        changes.forEach((userId, change) -> deltas.add(new PresenceDelta(roomId, change.version, change.action,
+                profiles.getOrDefault(userId, new User(userId, null)))));
+        deltas.sort(Comparator.comparing(PresenceDelta::getVersion, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        // 병합하지 않는 경우에는 기존과 같이 변경분 하나를 단일 객체로 전송함
+        Object payload = (windowMs <= 0 && deltas.size() == 1) ? deltas.get(0) : deltas;
+        messagingTemplate.convertAndSend("/topic/chatroom-" + roomId + "-presence", payload);
+    }
+
+    /**
+     * 하나의 채팅방에 대해 아직 브로드캐스트되지 않은 변경분. 사용자별 마지막 변경만 유지함.
+     */
+    private static final class PendingRoom {
+
+        private final Map<Long, Change> changes = new LinkedHashMap<>();
+
+        synchronized void record(Long userId, String action, Long version) {
+            Change previous = changes.get(userId);
+            if (previous != null && previous.version != null && version != null && previous.version > version) {
+                return;
+            }
+            changes.put(userId, new Change(action, version));
+        }
+
+        synchronized Map<Long, Change> snapshot() {
+            return new LinkedHashMap<>(changes);
+        }
+    }
+
+    private static final class Change {
+
+        private final String action;
+        private final Long version;
+
+        private Change(String action, Long version) {
+            this.action = action;
+            this.version = version;
+        }
+    }
+}
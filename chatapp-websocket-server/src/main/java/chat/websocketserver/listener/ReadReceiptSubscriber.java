@@ -0,0 +1,29 @@
+package chat.websocketserver.listener;
+
+import chat.websocketserver.service.ReadReceiptAggregator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 WebSocket 노드가 Redis 채널로 발행한 압축 읽음 위치 프레임을 수신하는 리스너.
+ */
+@Component
+public class ReadReceiptSubscriber implements MessageListener {
+
+    private final ReadReceiptAggregator readReceiptAggregator;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param readReceiptAggregator 읽음 위치 집계 서비스
+     */
+    public ReadReceiptSubscriber(ReadReceiptAggregator readReceiptAggregator) {
+        this.readReceiptAggregator = readReceiptAggregator;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        readReceiptAggregator.onRemoteUpdate(message.getBody());
+    }
+}
@@ -0,0 +1,81 @@
+package chat.websocketserver.listener;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 현재 노드에 할당된 Kafka 파티션을 추적하는 리밸런스 리스너.
+ * 이벤트는 roomId를 키로 발행되므로, 할당된 파티션을 통해 이 노드가 담당하는 채팅방을 판별할 수 있음.
+ */
+@Component
+public class RoomPartitionTracker implements ConsumerAwareRebalanceListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomPartitionTracker.class);
+
+    private final Set<TopicPartition> assignedPartitions = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> partitionCounts = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        assignedPartitions.addAll(partitions);
+        for (TopicPartition partition : partitions) {
+            partitionCounts.computeIfAbsent(partition.topic(), topic -> {
+                List<PartitionInfo> infos = consumer.partitionsFor(topic);
+                return infos != null ? infos.size() : 0;
+            });
+        }
+        logger.info("Partitions assigned: {}. Currently owned: {}", partitions, assignedPartitions);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        assignedPartitions.removeAll(partitions);
+        logger.info("Partitions revoked: {}. Currently owned: {}", partitions, assignedPartitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        assignedPartitions.removeAll(partitions);
+        logger.warn("Partitions lost: {}. Currently owned: {}", partitions, assignedPartitions);
+    }
+
+    /**
+     * 주어진 채팅방의 이벤트가 이 노드에 할당된 파티션으로 들어오는지 확인함.
+     * 프로듀서의 기본 파티셔너와 동일하게 roomId 키의 murmur2 해시로 파티션을 계산함.
+     *
+     * @param topic  토픽 이름
+     * @param roomId 채팅방 ID
+     * @return 이 노드가 해당 채팅방을 담당하면 true
+     */
+    public boolean ownsRoom(String topic, Long roomId) {
+        Integer partitionCount = partitionCounts.get(topic);
+        if (roomId == null || partitionCount == null || partitionCount == 0) {
+            return false;
+        }
+        byte[] keyBytes = String.valueOf(roomId).getBytes(StandardCharsets.UTF_8);
+        int partition = Utils.toPositive(Utils.murmur2(keyBytes)) % partitionCount;
+        return assignedPartitions.contains(new TopicPartition(topic, partition));
+    }
+
+    /**
+     * 현재 할당된 파티션 목록을 반환함.
+     *
+     * @return 할당된 파티션 집합
+     */
+    public Set<TopicPartition> getAssignedPartitions() {
+        return Set.copyOf(assignedPartitions);
+    }
+}
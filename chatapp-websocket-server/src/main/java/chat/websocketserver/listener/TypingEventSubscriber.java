@@ -0,0 +1,29 @@
+package chat.websocketserver.listener;
+
+import chat.websocketserver.service.TypingIndicatorService;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다른 WebSocket 노드가 Redis 채널로 발행한 "입력 중" 신호를 수신하는 리스너.
+ */
+@Component
+public class TypingEventSubscriber implements MessageListener {
+
+    private final TypingIndicatorService typingIndicatorService;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param typingIndicatorService 입력 중 신호 서비스
+     */
+    public TypingEventSubscriber(TypingIndicatorService typingIndicatorService) {
+        this.typingIndicatorService = typingIndicatorService;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        typingIndicatorService.onRemoteTyping(message.getBody());
+    }
+}
@@ -0,0 +1,58 @@
+package chat.websocketserver.listener;
+
+import chat.websocketserver.event.UserEvent;
+import chat.websocketserver.service.UserService;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * user-service의 사용자 이벤트를 소비하여 로컬 프로필 캐시를 무효화하는 리스너.
+ */
+@Service
+public class UserEventListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventListener.class);
+
+    private final UserService userService;
+
+    /**
+     * 생성자 주입을 통해 UserService를 주입받음.
+     *
+     * @param userService 유저 서비스
+     */
+    public UserEventListener(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * 노드별 그룹은 시작 시 캐시가 비어 있으므로 이전 이벤트를 다시 읽지 않고 끝으로 이동함.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToEnd(assignments.keySet());
+    }
+
+    /**
+     * Kafka에서 사용자 이벤트를 소비함.
+     *
+     * @param event 소비된 사용자 이벤트
+     */
+    @KafkaListener(
+            topics = "user-events",
+            containerFactory = "userEventKafkaListenerContainerFactory"
+    )
+    public void consumeUserEvent(UserEvent event) {
+        if (event.getUser() == null || event.getUser().getId() == null) {
+            logger.warn("Received user event without user id: {}", event);
+            return;
+        }
+        userService.invalidateUser(event.getUser().getId());
+        logger.debug("Invalidated cached profile of User ID: {} ({})", event.getUser().getId(), event.getAction());
+    }
+}
@@ -1,37 +1,47 @@
 package chat.websocketserver.listener;
 
+import chat.websocketserver.config.ConsumerGroupResolver;
 import chat.websocketserver.event.UserPresenceEvent;
-import chat.websocketserver.model.User;
 import chat.websocketserver.service.ChatRoomUserService;
-import chat.websocketserver.service.UserService;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 /**
  * 사용자 존재 이벤트를 처리하는 리스너.
  */
 @Service
-public class UserPresenceEventListener {
+public class UserPresenceEventListener implements ConsumerSeekAware {
 
     private final ChatRoomUserService chatRoomUserService;
-    private final SimpMessagingTemplate messagingTemplate;
-    private final UserService userService;
+    private final PresenceCoalescer presenceCoalescer;
+    private final ConsumerGroupResolver consumerGroupResolver;
 
     private static final String ACTION_JOIN = "JOIN";
     private static final String ACTION_LEAVE = "LEAVE";
 
     @Autowired
     public UserPresenceEventListener(ChatRoomUserService chatRoomUserService,
-                                     SimpMessagingTemplate messagingTemplate,
-                                     UserService userService) {
+                                     PresenceCoalescer presenceCoalescer,
+                                     ConsumerGroupResolver consumerGroupResolver) {
         this.chatRoomUserService = chatRoomUserService;
-        this.messagingTemplate = messagingTemplate;
-        this.userService = userService;
+        this.presenceCoalescer = presenceCoalescer;
+        this.consumerGroupResolver = consumerGroupResolver;
+    }
+
+    /**
+     * 클러스터 팬아웃 모드에서는 파티션 할당 시 최신 오프셋으로 이동하여
+     * 재시작 시 이전 존재 이벤트를 다시 처리하지 않도록 함.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (consumerGroupResolver.isFanOutEnabled()) {
+            callback.seekToEnd(assignments.keySet());
+        }
     }
 
     /**
@@ -41,31 +51,23 @@ public class UserPresenceEventListener {
      */
     @KafkaListener(
             topics = "user-presence-events",
-            groupId = "user_presence_group",
             containerFactory = "userPresenceKafkaListenerContainerFactory"
     )
     public void consumeUserPresenceEvent(UserPresenceEvent event) {
         Long roomId = event.getRoomId();
         Long userId = event.getUserId();
 
-        if (ACTION_JOIN.equals(event.getAction())) {
-            chatRoomUserService.addUserToChatRoom(roomId, userId);
-        } else if (ACTION_LEAVE.equals(event.getAction())) {
-            chatRoomUserService.removeUserFromChatRoom(roomId, userId);
+        // 멤버십은 발행 노드가 변경함. 버전이 없는 이벤트는 이전 버전 노드가 발행한 것이므로 여기서 반영함.
+        Long version = event.getVersion();
+        if (version == null) {
+            if (ACTION_JOIN.equals(event.getAction())) {
+                version = chatRoomUserService.addUserToChatRoom(roomId, userId);
+            } else if (ACTION_LEAVE.equals(event.getAction())) {
+                version = chatRoomUserService.removeUserFromChatRoom(roomId, userId);
+            }
         }
 
-        // 유저 목록을 브로드캐스트함.
-        broadcastUserList(roomId);
-    }
-
-    /**
-     * 특정 채팅방의 현재 유저 목록을 브로드캐스트함.
-     *
-     * @param roomId 채팅방 ID
-     */
-    private void broadcastUserList(Long roomId) {
-        Set<Long> userIds = chatRoomUserService.getUsersInChatRoom(roomId);
-        List<User> users = userService.getUsersByIds(userIds);
-        messagingTemplate.convertAndSend("/topic/chatroom-" + roomId + "-users", users);
+        // 채팅방별로 병합하여 브로드캐스트함.
+        presenceCoalescer.submit(roomId, userId, event.getAction(), version);
     }
 }
@@ -1,64 +1,158 @@
 package chat.websocketserver.listener;
 
+import chat.websocketserver.broker.RoomDestinations;
 import chat.websocketserver.event.UserPresenceEvent;
+import chat.websocketserver.service.ChatRoomUserService;
+import chat.websocketserver.service.PresenceGraceService;
+import chat.websocketserver.session.RoomMembership;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Map;
+
 /**
- * WebSocket 연결 및 해제 이벤트를 처리하는 리스너.
+ * WebSocket 구독/구독 해제 및 연결 해제 이벤트를 처리하여 채팅방 참여 상태를 관리하는 리스너.
  */
 @Component
 public class WebSocketEventListener {
 
     private final KafkaTemplate<String, UserPresenceEvent> kafkaTemplate;
+    private final ChatRoomUserService chatRoomUserService;
+    private final PresenceGraceService presenceGraceService;
 
     private static final String USER_PRESENCE_TOPIC = "user-presence-events";
     private static final String ACTION_JOIN = "JOIN";
     private static final String ACTION_LEAVE = "LEAVE";
 
     @Autowired
-    public WebSocketEventListener(KafkaTemplate<String, UserPresenceEvent> kafkaTemplate) {
+    public WebSocketEventListener(KafkaTemplate<String, UserPresenceEvent> kafkaTemplate,
+                                  ChatRoomUserService chatRoomUserService,
+                                  PresenceGraceService presenceGraceService) {
         this.kafkaTemplate = kafkaTemplate;
+        this.chatRoomUserService = chatRoomUserService;
+        this.presenceGraceService = presenceGraceService;
+    }
+
+    /**
+     * 채팅방 토픽("/topic/chatroom-{roomId}") 구독 시 호출됨.
+     * 하나의 연결에서 여러 채팅방을 구독할 수 있으므로 참여 여부는 연결이 아니라 구독 단위로 관리함.
+     * 세션마다 채팅방별 첫 구독만 Redis의 (채팅방, 사용자) 구독 수에 더하고, 구독 수가 0에서 1이 될 때만 참여 처리함.
+     * 따라서 같은 사용자가 여러 탭이나 노드에서 접속해도 JOIN은 한 번만 발행됨. 구독 승인은 RoomSubscriptionInterceptor에서 이미 끝났음.
+     *
+     * @param event 구독 이벤트
+     */
+    @EventListener
+    public void handleSubscribeListener(SessionSubscribeEvent event) {
+        StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = roomTopicId(headerAccessor.getDestination());
+        Long userId = (Long) headerAccessor.getSessionAttributes().get("userId");
+        if (userId == null || roomId == null || headerAccessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        if (!RoomMembership.of(headerAccessor.getSessionAttributes()).add(headerAccessor.getSubscriptionId(), roomId)) {
+            return;
+        }
+        // 다른 탭이나 노드에서 이미 구독 중이면 참여 상태가 그대로이므로 참여 이벤트를 생략함.
+        if (chatRoomUserService.acquireSubscription(roomId, userId) > 1) {
+            return;
+        }
+        // 유예 시간 안에 다시 구독한 경우 멤버십이 그대로 남아 있으므로 참여 이벤트를 생략함.
+        if (presenceGraceService.resume(roomId, userId)) {
+            return;
+        }
+        // 멤버십을 변경하고 증가된 존재 정보 버전과 함께 참여 이벤트를 Kafka에 발행함. 이미 멤버였으면 생략함.
+        Long version = chatRoomUserService.addUserToChatRoom(roomId, userId);
+        if (version == null) {
+            return;
+        }
+        UserPresenceEvent presenceEvent = new UserPresenceEvent(ACTION_JOIN, userId, roomId, version);
+        kafkaTemplate.send(USER_PRESENCE_TOPIC, String.valueOf(roomId), presenceEvent);
     }
 
     /**
-     * WebSocket 연결 시 호출됨.
+     * 구독 해제 시 호출됨. 이 세션에서 해당 채팅방의 마지막 구독이 해제되면 구독 수를 줄이고,
+     * 모든 탭과 노드의 구독이 사라졌을 때만 퇴장 처리함.
      *
-     * @param event 연결 이벤트
+     * @param event 구독 해제 이벤트
      */
     @EventListener
-    public void handleWebSocketConnectListener(SessionConnectEvent event) {
+    public void handleUnsubscribeListener(SessionUnsubscribeEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         Long userId = (Long) headerAccessor.getSessionAttributes().get("userId");
-        Long roomId = (Long) headerAccessor.getSessionAttributes().get("roomId");
+        if (userId == null || headerAccessor.getSubscriptionId() == null) {
+            return;
+        }
 
-        if (userId != null && roomId != null) {
-            // 사용자 참여 이벤트를 Kafka에 발행함.
-            UserPresenceEvent presenceEvent = new UserPresenceEvent(ACTION_JOIN, userId, roomId);
-            kafkaTemplate.send(USER_PRESENCE_TOPIC, presenceEvent);
+        Long roomId = RoomMembership.of(headerAccessor.getSessionAttributes()).remove(headerAccessor.getSubscriptionId());
+        if (roomId != null) {
+            release(roomId, userId);
         }
     }
 
     /**
-     * WebSocket 연결 해제 시 호출됨.
+     * WebSocket 연결 해제 시 호출됨. 세션이 구독 중이던 모든 채팅방의 구독 수를 줄이고, 남은 구독이 없는 채팅방에서 퇴장 처리함.
      *
      * @param event 연결 해제 이벤트
      */
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
-        Long userId = (Long) headerAccessor.getSessionAttributes().get("userId");
-        Long roomId = (Long) headerAccessor.getSessionAttributes().get("roomId");
+        Map<String, Object> sessionAttributes = headerAccessor.getSessionAttributes();
+        Long userId = sessionAttributes != null ? (Long) sessionAttributes.get("userId") : null;
+        if (userId == null) {
+            return;
+        }
 
-        if (userId != null && roomId != null) {
-            // 사용자 퇴장 이벤트를 Kafka에 발행함.
-            UserPresenceEvent presenceEvent = new UserPresenceEvent(ACTION_LEAVE, userId, roomId);
-            kafkaTemplate.send(USER_PRESENCE_TOPIC, presenceEvent);
+        for (Long roomId : RoomMembership.of(sessionAttributes).clear()) {
+            release(roomId, userId);
+        }
+    }
+
+    /**
+     * 채팅방 메시지 토픽이면 채팅방 ID를 반환함. "-users", "-typing" 등 부가 토픽은 참여로 보지 않음.
+     */
+    private static Long roomTopicId(String destination) {
+        Long roomId = RoomDestinations.extractRoomId(destination);
+        if (roomId == null || !destination.equals(RoomDestinations.ROOM_DESTINATION_PREFIX + roomId)) {
+            return null;
+        }
+        return roomId;
+    }
+
+    /**
+     * 세션의 구독 하나를 구독 수에서 빼고, 마지막 구독이었으면 퇴장을 예약함.
+     * 화면 전환이나 재연결(배포 중 drain 등)일 수 있으므로 유예 시간 동안 다시 구독되지 않을 때만 퇴장 처리함.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     */
+    private void release(Long roomId, Long userId) {
+        if (chatRoomUserService.releaseSubscription(roomId, userId) > 0) {
+            return;
+        }
+        presenceGraceService.deferLeave(roomId, userId, () -> leave(roomId, userId));
+    }
+
+    /**
+     * 멤버십을 변경하고 증가된 존재 정보 버전과 함께 퇴장 이벤트를 Kafka에 발행함.
+     * 유예 시간 동안 다른 탭이나 노드에서 다시 구독하여 멤버십이 유지되면 발행하지 않음.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     */
+    private void leave(Long roomId, Long userId) {
+        Long version = chatRoomUserService.removeUserFromChatRoom(roomId, userId);
+        if (version == null) {
+            return;
         }
+        UserPresenceEvent presenceEvent = new UserPresenceEvent(ACTION_LEAVE, userId, roomId, version);
+        kafkaTemplate.send(USER_PRESENCE_TOPIC, String.valueOf(roomId), presenceEvent);
     }
 }
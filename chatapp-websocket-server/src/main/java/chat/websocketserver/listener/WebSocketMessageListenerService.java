@@ -1,22 +1,31 @@
 package chat.websocketserver.listener;
 
+import chat.websocketserver.config.ConsumerGroupResolver;
 import chat.websocketserver.event.ChatRoomEvent;
 import chat.websocketserver.event.MessageEvent;
 import chat.websocketserver.model.Message;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * WebSocket 메시지 관련 이벤트를 처리하는 리스너 서비스.
  */
 @Service
 @Slf4j
-public class WebSocketMessageListenerService {
+public class WebSocketMessageListenerService implements ConsumerSeekAware {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final ConsumerGroupResolver consumerGroupResolver;
 
     private static final String MESSAGE_TOPIC = "message-events";
     private static final String CHATROOM_TOPIC = "chatroom-events";
@@ -26,8 +35,21 @@ public class WebSocketMessageListenerService {
     private static final String ACTION_UPDATE = "UPDATE";
 
     @Autowired
-    public WebSocketMessageListenerService(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketMessageListenerService(SimpMessagingTemplate messagingTemplate,
+                                           ConsumerGroupResolver consumerGroupResolver) {
         this.messagingTemplate = messagingTemplate;
+        this.consumerGroupResolver = consumerGroupResolver;
+    }
+
+    /**
+     * 클러스터 팬아웃 모드에서는 파티션 할당 시 최신 오프셋으로 이동하여
+     * 재시작 시 이전 이벤트를 다시 브로드캐스트하지 않도록 함.
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (consumerGroupResolver.isFanOutEnabled()) {
+            callback.seekToEnd(assignments.keySet());
+        }
     }
 
     /**
@@ -37,8 +59,8 @@ public class WebSocketMessageListenerService {
      */
     @KafkaListener(
             topics = MESSAGE_TOPIC,
-            groupId = "message_event_group",
-            containerFactory = "messageEventKafkaListenerContainerFactory"
+            containerFactory = "messageEventKafkaListenerContainerFactory",
+            autoStartup = "#{'${websocket.kafka.message-listener.mode:record}' != 'batch'}"
     )
     public void consumeMessageEvent(MessageEvent event) {
         String action = event.getAction();
@@ -56,6 +78,47 @@ public class WebSocketMessageListenerService {
         }
     }
 
+    /**
+     * 배치 리스너 모드에서 한 번의 poll로 가져온 메시지 이벤트를 소비함.
+     * 이벤트를 채팅방별로 모아 채팅방마다 메시지 배열 하나를 하나의 프레임으로 브로드캐스트함.
+     * 같은 채팅방의 이벤트는 같은 파티션에서 오므로 배열 안의 순서는 발행 순서와 같음.
+     * 삭제 이벤트는 레코드 모드와 같은 형태(메시지 ID 하나)로 삭제마다 브로드캐스트하여,
+     * "-deletes" 구독자는 리스너 모드와 관계없이 같은 페이로드를 받음.
+     *
+     * @param events 소비된 메시지 이벤트 목록
+     */
+    @KafkaListener(
+            topics = MESSAGE_TOPIC,
+            containerFactory = "messageEventBatchKafkaListenerContainerFactory",
+            autoStartup = "#{'${websocket.kafka.message-listener.mode:record}' == 'batch'}"
+    )
+    public void consumeMessageEventBatch(List<MessageEvent> events) {
+        Map<Long, List<Message>> sentByRoom = new LinkedHashMap<>();
+        Map<Long, List<String>> deletedByRoom = new LinkedHashMap<>();
+
+        for (MessageEvent event : events) {
+            Message message = event.getMessage();
+            if (message == null) {
+                continue;
+            }
+            if (ACTION_SEND.equals(event.getAction())) {
+                sentByRoom.computeIfAbsent(message.getRoomId(), key -> new ArrayList<>()).add(message);
+            } else if (ACTION_DELETE.equals(event.getAction())) {
+                deletedByRoom.computeIfAbsent(message.getRoomId(), key -> new ArrayList<>()).add(message.getId());
+            }
+        }
+
+        // 채팅방마다 메시지 배열을 하나의 프레임으로 브로드캐스트함.
+        sentByRoom.forEach((roomId, messages) ->
+                messagingTemplate.convertAndSend("/topic/chatroom-" + roomId, messages));
+        deletedByRoom.forEach((roomId, messageIds) ->
+                messageIds.forEach(messageId ->
+                        messagingTemplate.convertAndSend("/topic/chatroom-" + roomId + "-deletes", messageId)));
+
+        log.info("Broadcasted batch of {} message events to {} rooms ({} deletion rooms)",
+                events.size(), sentByRoom.size(), deletedByRoom.size());
+    }
+
     /**
      * Kafka에서 채팅방 이벤트를 소비함.
      *
@@ -63,8 +126,7 @@ public class WebSocketMessageListenerService {
      */
     @KafkaListener(
             topics = CHATROOM_TOPIC,
-            groupId = "websocket_group",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "chatRoomEventKafkaListenerContainerFactory"
     )
     public void consumeChatRoomEvent(ChatRoomEvent event) {
         String action = event.getAction();
@@ -0,0 +1,21 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 느린 세션에 개별 메시지 대신 주기적으로 전달하는 요약.
+ * 클라이언트는 요약을 받으면 메시지 이력 API로 누락된 메시지를 다시 조회함.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class MessageSummary implements Serializable {
+    private String type;        // 항상 SUMMARY
+    private Long roomId;
+    private long missedFrames;  // 전달하지 않은 메시지 프레임 수 (배치 모드에서는 한 프레임에 여러 메시지가 담김)
+    private long since;         // 첫 누락 프레임 시각 (epoch ms)
+}
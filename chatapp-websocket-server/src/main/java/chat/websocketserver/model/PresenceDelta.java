@@ -0,0 +1,21 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 채팅방 참여/퇴장 한 건을 나타내는 존재 정보 변경분.
+ * 클라이언트는 스냅샷 버전보다 큰 버전의 변경분만 순서대로 적용함.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresenceDelta implements Serializable {
+    private Long roomId;
+    private Long version;   // 변경 후 존재 정보 버전
+    private String action;  // JOIN 또는 LEAVE
+    private User user;      // 참여/퇴장한 사용자의 프로필 요약
+}
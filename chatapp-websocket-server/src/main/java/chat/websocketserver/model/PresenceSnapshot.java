@@ -0,0 +1,21 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 특정 버전 시점의 채팅방 참여자 전체 목록.
+ * 구독 시 한 번만 전달되며 이후에는 PresenceDelta로 갱신됨.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresenceSnapshot implements Serializable {
+    private Long roomId;
+    private Long version;
+    private List<User> users;
+}
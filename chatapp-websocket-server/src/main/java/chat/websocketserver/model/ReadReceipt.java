@@ -0,0 +1,19 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 사용자가 채팅방에서 어디까지 읽었는지를 나타내는 읽음 위치(watermark).
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadReceipt implements Serializable {
+    private Long roomId;
+    private Long userId;
+    private String lastReadMessageId;  // 마지막으로 읽은 메시지 ID
+}
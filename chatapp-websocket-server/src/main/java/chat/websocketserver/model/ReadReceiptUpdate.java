@@ -0,0 +1,20 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 한 채팅방에서 일정 시간 동안 바뀐 읽음 위치를 사용자별 최종 값으로 압축한 브로드캐스트 프레임.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReadReceiptUpdate implements Serializable {
+    private Long roomId;
+    private List<ReadReceipt> receipts;
+    private String origin;  // 발행한 노드의 인스턴스 ID (자기 프레임 재전달 방지용)
+}
@@ -0,0 +1,20 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 노드 종료(drain) 전에 세션에 보내는 재연결 안내.
+ * 클라이언트는 retryAfterMs 후에 다시 연결하며, 지연 시간은 세션마다 달라 재연결이 한꺼번에 몰리지 않음.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReconnectHint implements Serializable {
+    private String type = "RECONNECT";
+    private String reason;     // DRAINING
+    private long retryAfterMs; // 재연결 전 대기 시간(ms)
+}
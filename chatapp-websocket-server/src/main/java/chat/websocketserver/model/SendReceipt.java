@@ -0,0 +1,24 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 클라이언트가 보낸 메시지의 Kafka 기록 결과.
+ * 기록이 확인되면 /user/queue/receipts로, 실패하면 /user/queue/errors로 전송자 세션에만 전달됨.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SendReceipt implements Serializable {
+    private String clientMessageId; // 클라이언트가 SEND 프레임의 client-message-id 헤더로 보낸 식별자
+    private String messageId;       // 서버가 부여한 메시지 ID (브로드캐스트 메시지와 중복 제거에 사용)
+    private String status;          // ACK, ERROR, THROTTLED 또는 FORBIDDEN
+    private Long roomId;
+    private Integer partition;      // 기록된 파티션 (실패 시 null)
+    private Long offset;            // 기록된 오프셋 (실패 시 null)
+    private String error;           // 실패 사유 (성공 시 null)
+}
@@ -0,0 +1,20 @@
+package chat.websocketserver.model;
+
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * 채팅방의 "입력 중" 신호. 저장되지 않으며 WebSocket 노드 사이에서는 Redis 채널로만 전달됨.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TypingEvent implements Serializable {
+    private Long roomId;
+    private Long userId;
+    private boolean typing;  // true: 입력 시작/계속, false: 입력 중단
+    private String origin;   // 이벤트를 발생시킨 노드의 인스턴스 ID (자기 이벤트 재전달 방지용)
+}
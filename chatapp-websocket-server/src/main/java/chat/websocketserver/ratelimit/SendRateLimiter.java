@@ -0,0 +1,94 @@
+package chat.websocketserver.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 메시지 전송 경로의 사용자별/채팅방별 토큰 버킷 제한기.
+ * 사용자 버킷으로 한 클라이언트의 폭주를, 채팅방 버킷으로 한 채팅방에 몰리는 전체 전송량을 제한함.
+ * 버킷은 일정 시간 사용되지 않으면 제거되므로 메모리는 활성 사용자/채팅방 수에 비례함.
+ */
+@Component
+public class SendRateLimiter {
+
+    private final boolean enabled;
+    private final long userBurst;
+    private final double userRefillPerSecond;
+    private final long roomBurst;
+    private final double roomRefillPerSecond;
+
+    private final Cache<Long, TokenBucket> userBuckets;
+    private final Cache<Long, TokenBucket> roomBuckets;
+
+    // 채팅방 ID를 태그로 쓰면 채팅방마다 미터가 생기므로 범위(user/room) 태그만 사용함
+    private final Counter userThrottled;
+    private final Counter roomThrottled;
+
+    /**
+     * 생성자 주입을 통해 설정 값을 주입받음.
+     *
+     * @param meterRegistry       메트릭 레지스트리
+     * @param enabled             제한 사용 여부
+     * @param userBurst           사용자별 버킷 용량
+     * @param userRefillPerSecond 사용자별 초당 보충량
+     * @param roomBurst           채팅방별 버킷 용량
+     * @param roomRefillPerSecond 채팅방별 초당 보충량
+     * @param idleSeconds         사용되지 않은 버킷을 제거할 때까지의 시간(초)
+     */
+    public SendRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${websocket.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${websocket.rate-limit.user.burst:10}") long userBurst,
+                           @Value("${websocket.rate-limit.user.refill-per-second:2}") double userRefillPerSecond,
+                           @Value("${websocket.rate-limit.room.burst:200}") long roomBurst,
+                           @Value("${websocket.rate-limit.room.refill-per-second:50}") double roomRefillPerSecond,
+                           @Value("${websocket.rate-limit.idle-seconds:600}") long idleSeconds) {
+        this.enabled = enabled;
+        this.userBurst = userBurst;
+        this.userRefillPerSecond = userRefillPerSecond;
+        this.roomBurst = roomBurst;
+        this.roomRefillPerSecond = roomRefillPerSecond;
+        this.userBuckets = Caffeine.newBuilder().expireAfterAccess(Duration.ofSeconds(idleSeconds)).build();
+        this.roomBuckets = Caffeine.newBuilder().expireAfterAccess(Duration.ofSeconds(idleSeconds)).build();
+        this.userThrottled = throttledCounter(meterRegistry, "user");
+        this.roomThrottled = throttledCounter(meterRegistry, "room");
+    }
+
+    /**
+     * 사용자와 채팅방 버킷에서 토큰을 하나씩 소비함.
+     * 채팅방 버킷이 거부하면 사용자 버킷에서 소비한 토큰을 되돌려, 보내지 못한 메시지로 사용자 한도가 줄지 않게 함.
+     *
+     * @param userId 사용자 ID
+     * @param roomId 채팅방 ID
+     * @return 전송이 허용되면 true
+     */
+    public boolean tryAcquire(Long userId, Long roomId) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.nanoTime();
+        TokenBucket userBucket = userBuckets.get(userId, key -> new TokenBucket(userBurst, userRefillPerSecond));
+        if (!userBucket.tryConsume(now)) {
+            userThrottled.increment();
+            return false;
+        }
+        if (!roomBuckets.get(roomId, key -> new TokenBucket(roomBurst, roomRefillPerSecond)).tryConsume(now)) {
+            userBucket.refund();
+            roomThrottled.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder("websocket.rate-limit.throttled")
+                .description("Chat sends rejected by the token-bucket limiter")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,54 @@
+package chat.websocketserver.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잠금 없이 동작하는 토큰 버킷.
+ * 토큰 수 대신 "버킷이 가득 차게 되는 이론적 시각"(GCRA의 TAT) 하나만 AtomicLong으로 저장하고,
+ * 요청마다 CAS 한 번으로 토큰 소비와 보충을 함께 반영함. 동작은 같은 용량/보충 속도의 토큰 버킷과 동일함.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos; // 토큰 하나가 보충되는 간격
+    private final long burstToleranceNanos;   // 버킷 용량만큼 미리 쓸 수 있는 시간
+
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param burst           버킷 용량 (연속으로 허용되는 최대 요청 수)
+     * @param refillPerSecond 초당 보충되는 토큰 수
+     */
+    public TokenBucket(long burst, double refillPerSecond) {
+        if (burst < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("burst must be >= 1 and refillPerSecond must be > 0");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    /**
+     * 토큰 하나를 소비함.
+     *
+     * @param nowNanos 현재 시각 (System.nanoTime 기준)
+     * @return 토큰이 있어 소비했으면 true, 한도를 넘었으면 false
+     */
+    public boolean tryConsume(long nowNanos) {
+        while (true) {
+            long stored = theoreticalArrivalNanos.get();
+            long tat = stored == Long.MIN_VALUE || stored - nowNanos < 0 ? nowNanos : stored;
+            if (tat - nowNanos > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(stored, tat + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * tryConsume으로 소비한 토큰 하나를 되돌림. 함께 확인한 다른 버킷이 거부하여 요청이 실제로 처리되지 않았을 때 사용함.
+     */
+    public void refund() {
+        theoreticalArrivalNanos.getAndUpdate(stored -> stored == Long.MIN_VALUE ? stored : stored - emissionIntervalNanos);
+    }
+}
@@ -4,10 +4,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -20,6 +22,24 @@ public class ChatRoomUserService {
 
     private static final Logger logger = LoggerFactory.getLogger(ChatRoomUserService.class);
     private static final String CHATROOM_USERS_KEY_PREFIX = "chatroom:users:";
+    private static final String PRESENCE_VERSION_KEY_PREFIX = "chatroom:presence-version:";
+    private static final String SUBSCRIPTION_COUNT_KEY_PREFIX = "chatroom:subscriptions:";
+
+    // KEYS[1]: 채팅방 사용자 집합, KEYS[2]: 존재 정보 버전, ARGV[1]: 사용자 ID. 이미 멤버이면 nil을 반환함
+    private static final RedisScript<Long> ADD_MEMBER_SCRIPT = RedisScript.of(
+            "if redis.call('SADD', KEYS[1], ARGV[1]) == 0 then return false end "
+                    + "return redis.call('INCR', KEYS[2])", Long.class);
+    // KEYS[1]: 채팅방 사용자 집합, KEYS[2]: 존재 정보 버전, KEYS[3]: 구독 수, ARGV[1]: 사용자 ID.
+    // 아직 구독이 남아 있거나 멤버가 아니면 nil을 반환함
+    private static final RedisScript<Long> REMOVE_MEMBER_SCRIPT = RedisScript.of(
+            "if redis.call('HEXISTS', KEYS[3], ARGV[1]) == 1 then return false end "
+                    + "if redis.call('SREM', KEYS[1], ARGV[1]) == 0 then return false end "
+                    + "return redis.call('INCR', KEYS[2])", Long.class);
+    // KEYS[1]: 구독 수, ARGV[1]: 사용자 ID. 0 이하가 되면 필드를 지우고 0을 반환함
+    private static final RedisScript<Long> RELEASE_SUBSCRIPTION_SCRIPT = RedisScript.of(
+            "local n = redis.call('HINCRBY', KEYS[1], ARGV[1], -1) "
+                    + "if n <= 0 then redis.call('HDEL', KEYS[1], ARGV[1]) return 0 end "
+                    + "return n", Long.class);
 
     private final RedisTemplate<String, Object> redisTemplate;
 
@@ -33,22 +53,64 @@ public class ChatRoomUserService {
     }
 
     /**
-     * 유저를 특정 채팅방에 추가함.
+     * 유저의 채팅방 구독 수를 1 증가시킴. 여러 탭, 여러 노드의 구독을 합산함.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 증가 후 구독 수
+     */
+    public long acquireSubscription(Long roomId, Long userId) {
+        try {
+            Long count = redisTemplate.opsForHash().increment(generateSubscriptionCountKey(roomId), userId.toString(), 1L);
+            return count != null ? count : 0L;
+        } catch (DataAccessException e) {
+            logger.error("Failed to count subscription of User ID: {} in ChatRoom ID: {}. Error: {}", userId, roomId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 유저의 채팅방 구독 수를 1 감소시킴. 0이 되면 카운터를 지움.
      *
      * @param roomId 채팅방 ID
      * @param userId 사용자 ID
+     * @return 감소 후 구독 수
      */
-    public void addUserToChatRoom(Long roomId, Long userId) {
+    public long releaseSubscription(Long roomId, Long userId) {
+        try {
+            Long count = redisTemplate.execute(RELEASE_SUBSCRIPTION_SCRIPT,
+                    List.of(generateSubscriptionCountKey(roomId)), userId.toString());
+            return count != null ? count : 0L;
+        } catch (DataAccessException e) {
+            logger.error("Failed to release subscription of User ID: {} in ChatRoom ID: {}. Error: {}", userId, roomId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 유저를 특정 채팅방에 추가하고 채팅방의 존재 정보 버전을 증가시킴.
+     * 멤버십 변경과 버전 증가는 하나의 Lua 스크립트로 원자적으로 수행됨.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 변경 후 존재 정보 버전, 인자가 null이거나 이미 멤버이면 null
+     */
+    public Long addUserToChatRoom(Long roomId, Long userId) {
         if (roomId == null || userId == null) {
             logger.warn("Attempted to add user with null roomId or userId. roomId: {}, userId: {}", roomId, userId);
-            return;
+            return null;
         }
 
-        String key = generateChatRoomUsersKey(roomId);
         try {
             // 유저 ID를 문자열로 변환하여 저장
-            redisTemplate.opsForSet().add(key, userId.toString());
-            logger.info("User ID: {} added to ChatRoom ID: {}", userId, roomId);
+            Long version = redisTemplate.execute(ADD_MEMBER_SCRIPT,
+                    List.of(generateChatRoomUsersKey(roomId), generatePresenceVersionKey(roomId)), userId.toString());
+            if (version == null) {
+                logger.debug("User ID: {} is already in ChatRoom ID: {}", userId, roomId);
+                return null;
+            }
+            logger.info("User ID: {} added to ChatRoom ID: {} (presence version {})", userId, roomId, version);
+            return version;
         } catch (DataAccessException e) {
             logger.error("Failed to add User ID: {} to ChatRoom ID: {}. Error: {}", userId, roomId, e.getMessage(), e);
             throw e;
@@ -56,28 +118,58 @@ public class ChatRoomUserService {
     }
 
     /**
-     * 유저를 특정 채팅방에서 제거함.
+     * 유저를 특정 채팅방에서 제거하고 채팅방의 존재 정보 버전을 증가시킴.
+     * 멤버십 변경과 버전 증가는 하나의 Lua 스크립트로 원자적으로 수행됨.
+     * 그 사이 다른 탭이나 노드에서 다시 구독하여 구독 수가 남아 있으면 제거하지 않음.
      *
      * @param roomId 채팅방 ID
      * @param userId 사용자 ID
+     * @return 변경 후 존재 정보 버전, 인자가 null이거나 제거하지 않았으면 null
      */
-    public void removeUserFromChatRoom(Long roomId, Long userId) {
+    public Long removeUserFromChatRoom(Long roomId, Long userId) {
         if (roomId == null || userId == null) {
             logger.warn("Attempted to remove user with null roomId or userId. roomId: {}, userId: {}", roomId, userId);
-            return;
+            return null;
         }
 
-        String key = generateChatRoomUsersKey(roomId);
         try {
             // 유저 ID를 문자열로 변환하여 제거
-            redisTemplate.opsForSet().remove(key, userId.toString());
-            logger.info("User ID: {} removed from ChatRoom ID: {}", userId, roomId);
+            Long version = redisTemplate.execute(REMOVE_MEMBER_SCRIPT,
+                    List.of(generateChatRoomUsersKey(roomId), generatePresenceVersionKey(roomId),
+                            generateSubscriptionCountKey(roomId)), userId.toString());
+            if (version == null) {
+                logger.debug("User ID: {} is still subscribed to or already left ChatRoom ID: {}", userId, roomId);
+                return null;
+            }
+            logger.info("User ID: {} removed from ChatRoom ID: {} (presence version {})", userId, roomId, version);
+            return version;
         } catch (DataAccessException e) {
             logger.error("Failed to remove User ID: {} from ChatRoom ID: {}. Error: {}", userId, roomId, e.getMessage(), e);
             throw e;
         }
     }
 
+    /**
+     * 특정 채팅방의 현재 존재 정보 버전을 조회함.
+     *
+     * @param roomId 채팅방 ID
+     * @return 존재 정보 버전, 변경 이력이 없으면 0
+     */
+    public long getPresenceVersion(Long roomId) {
+        if (roomId == null) {
+            logger.warn("Attempted to get presence version with null roomId.");
+            return 0L;
+        }
+
+        try {
+            Object version = redisTemplate.opsForValue().get(generatePresenceVersionKey(roomId));
+            return version != null && isNumeric(version.toString()) ? Long.parseLong(version.toString()) : 0L;
+        } catch (DataAccessException e) {
+            logger.error("Failed to retrieve presence version of ChatRoom ID: {}. Error: {}", roomId, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     /**
      * 특정 채팅방에 현재 접속한 유저 ID 목록을 조회함.
      *
@@ -120,6 +212,26 @@ public class ChatRoomUserService {
         return CHATROOM_USERS_KEY_PREFIX + roomId;
     }
 
+    /**
+     * 채팅방 존재 정보 버전 키를 생성함.
+     *
+     * @param roomId 채팅방 ID
+     * @return Redis 키
+     */
+    private String generatePresenceVersionKey(Long roomId) {
+        return PRESENCE_VERSION_KEY_PREFIX + roomId;
+    }
+
+    /**
+     * 채팅방의 사용자별 구독 수 키를 생성함.
+     *
+     * @param roomId 채팅방 ID
+     * @return Redis 키
+     */
+    private String generateSubscriptionCountKey(Long roomId) {
+        return SUBSCRIPTION_COUNT_KEY_PREFIX + roomId;
+    }
+
     /**
      * 문자열이 숫자인지 확인함.
      *
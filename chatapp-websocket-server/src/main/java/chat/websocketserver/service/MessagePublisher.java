@@ -0,0 +1,127 @@
+package chat.websocketserver.service;
+
+import chat.websocketserver.event.MessageEvent;
+import chat.websocketserver.model.SendReceipt;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 이벤트를 Kafka로 비동기 발행하고, 브로커의 기록 확인 결과를 전송자 세션에 알리는 서비스.
+ * 호출 스레드는 기록 완료를 기다리지 않으며, 결과는 프로듀서 콜백에서 전달됨.
+ */
+@Service
+public class MessagePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessagePublisher.class);
+
+    private static final String MESSAGE_TOPIC = "message-events";
+    private static final String RECEIPT_DESTINATION = "/queue/receipts";
+    private static final String ERROR_DESTINATION = "/queue/errors";
+
+    private final KafkaTemplate<String, MessageEvent> kafkaTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Timer ackTimer;
+    private final Timer errorTimer;
+
+    /**
+     * 생성자 주입을 통해 의존성을 주입받음.
+     *
+     * @param kafkaTemplate     메시지 이벤트용 KafkaTemplate
+     * @param messagingTemplate STOMP 메시지 템플릿
+     * @param meterRegistry     메트릭 레지스트리
+     */
+    public MessagePublisher(KafkaTemplate<String, MessageEvent> kafkaTemplate,
+                            SimpMessagingTemplate messagingTemplate,
+                            MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.ackTimer = Timer.builder("websocket.message.publish")
+                .description("Time from handing a chat message to the producer until the broker confirms or rejects it")
+                .tag("result", "ack")
+                .register(meterRegistry);
+        this.errorTimer = Timer.builder("websocket.message.publish")
+                .description("Time from handing a chat message to the producer until the broker confirms or rejects it")
+                .tag("result", "error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지 이벤트를 roomId를 키로 발행함 (채팅방 단위 순서 보장).
+     * clientMessageId가 있으면 기록 확인 시 영수증을, 실패 시 오류를 전송자 세션에 보냄.
+     *
+     * @param event           메시지 이벤트
+     * @param roomId          채팅방 ID
+     * @param sessionId       전송자 STOMP 세션 ID
+     * @param clientMessageId 클라이언트가 부여한 메시지 식별자 (없으면 null)
+     */
+    public void publish(MessageEvent event, Long roomId, String sessionId, String clientMessageId) {
+        long startNanos = System.nanoTime();
+        kafkaTemplate.send(MESSAGE_TOPIC, String.valueOf(roomId), event).addCallback(
+                result -> {
+                    ackTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    RecordMetadata metadata = result != null ? result.getRecordMetadata() : null;
+                    if (clientMessageId != null) {
+                        sendToSession(sessionId, RECEIPT_DESTINATION, new SendReceipt(clientMessageId, messageId(event), "ACK", roomId,
+                                metadata != null ? metadata.partition() : null,
+                                metadata != null ? metadata.offset() : null, null));
+                    }
+                },
+                ex -> {
+                    errorTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    logger.error("Failed to publish MessageEvent for roomId: {}. Error: {}", roomId, ex.getMessage(), ex);
+                    sendToSession(sessionId, ERROR_DESTINATION, new SendReceipt(clientMessageId, messageId(event), "ERROR", roomId,
+                            null, null, "메시지를 저장하지 못했습니다. 다시 시도해주세요."));
+                });
+    }
+
+    /**
+     * 처리하지 않은 요청에 대해 전송자 세션에 오류를 보냄.
+     *
+     * @param sessionId       전송자 STOMP 세션 ID
+     * @param clientMessageId 클라이언트가 부여한 메시지 식별자 (없으면 null)
+     * @param roomId          채팅방 ID
+     * @param status          오류 상태 (THROTTLED: 전송 한도 초과, FORBIDDEN: 구독/전송 권한 없음)
+     * @param reason          거절 사유
+     */
+    public void reject(String sessionId, String clientMessageId, Long roomId, String status, String reason) {
+        sendToSession(sessionId, ERROR_DESTINATION, new SendReceipt(clientMessageId, null, status, roomId,
+                null, null, reason));
+    }
+
+    /**
+     * 특정 세션에만 메시지를 보냄. 인증 주체(Principal)가 없으므로 세션 ID를 사용자 이름으로 사용함.
+     * 클라이언트는 /user/queue/receipts, /user/queue/errors를 구독함.
+     */
+    private void sendToSession(String sessionId, String destination, SendReceipt receipt) {
+        if (sessionId == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(sessionId, destination, receipt, sessionHeaders(sessionId));
+        } catch (Exception e) {
+            logger.warn("Failed to deliver {} to session {}. Error: {}", destination, sessionId, e.getMessage());
+        }
+    }
+
+    private static String messageId(MessageEvent event) {
+        return event.getMessage() != null ? event.getMessage().getId() : null;
+    }
+
+    private static MessageHeaders sessionHeaders(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        return accessor.getMessageHeaders();
+    }
+}
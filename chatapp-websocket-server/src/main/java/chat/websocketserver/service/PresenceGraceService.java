@@ -0,0 +1,222 @@
+package chat.websocketserver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 연결 해제 직후 같은 채팅방으로 다시 연결하는 사용자의 퇴장/참여 이벤트를 생략하는 서비스.
+ * 연결 해제 시 퇴장을 바로 처리하지 않고 Redis에 "퇴장 대기" 표시를 남긴 뒤 유예 시간 후에 처리함.
+ * 유예 시간 안에 어느 노드에서든 다시 연결되면 표시를 지워 퇴장과 재참여를 모두 생략함.
+ * 표시에는 연결 해제마다 새 토큰을 저장하고 토큰이 같을 때만 지우므로, 이전 연결 해제의 예약이 이후 연결 해제를 앞당기지 않음.
+ */
+@Service
+public class PresenceGraceService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceGraceService.class);
+
+    private static final String PENDING_LEAVE_KEY_PREFIX = "presence:leaving:";
+
+    // KEYS[1]: 퇴장 대기 키, ARGV[1]: 예약 토큰. 토큰이 같을 때만 삭제함
+    private static final RedisScript<Long> CLAIM_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0", Long.class);
+
+    private final ApplicationContext applicationContext;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long graceMs;
+
+    private final Map<String, PendingLeave> pendingLeaves = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskScheduler scheduler;
+
+    private final Counter suppressed;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param applicationContext 애플리케이션 컨텍스트 (하위 컨텍스트의 종료 이벤트 구분용)
+     * @param redisTemplate      Redis 템플릿
+     * @param meterRegistry      메트릭 레지스트리
+     * @param graceMs            퇴장 처리 유예 시간(ms), 0이면 바로 퇴장 처리
+     */
+    public PresenceGraceService(ApplicationContext applicationContext,
+                                RedisTemplate<String, Object> redisTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${websocket.presence.leave-grace-ms:10000}") long graceMs) {
+        this.applicationContext = applicationContext;
+        this.redisTemplate = redisTemplate;
+        this.graceMs = graceMs;
+
+        this.scheduler = new ThreadPoolTaskScheduler();
+        this.scheduler.setPoolSize(1);
+        this.scheduler.setThreadNamePrefix("presence-grace-");
+        this.scheduler.initialize();
+
+        this.suppressed = Counter.builder("websocket.presence.reconnects.suppressed")
+                .description("LEAVE/JOIN pairs skipped because the user reconnected within the grace period")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 퇴장 처리를 유예 시간 뒤로 미룸. 유예가 꺼져 있거나 Redis에 기록할 수 없으면 바로 처리함.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param leave  실제 퇴장 처리 (멤버십 제거 및 LEAVE 이벤트 발행)
+     */
+    public void deferLeave(Long roomId, Long userId, Runnable leave) {
+        if (graceMs <= 0) {
+            leave.run();
+            return;
+        }
+        String key = pendingLeaveKey(roomId, userId);
+        String token = UUID.randomUUID().toString();
+        try {
+            redisTemplate.opsForValue().set(key, token, Duration.ofMillis(graceMs * 2));
+        } catch (Exception e) {
+            logger.warn("Failed to defer LEAVE of User ID: {} in ChatRoom ID: {}. Leaving now. Error: {}", userId, roomId, e.getMessage());
+            leave.run();
+            return;
+        }
+        PendingLeave pending = new PendingLeave(key, token, leave);
+        PendingLeave previous = pendingLeaves.put(key, pending);
+        if (previous != null) {
+            previous.cancel();
+        }
+        pending.future = scheduler.schedule(() -> complete(pending), Instant.now().plusMillis(graceMs));
+    }
+
+    /**
+     * 다시 연결된 사용자의 퇴장 대기를 취소함.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @return 퇴장 대기 중이었으면 true (이 경우 참여 처리도 생략함)
+     */
+    public boolean resume(Long roomId, Long userId) {
+        if (graceMs <= 0) {
+            return false;
+        }
+        String key = pendingLeaveKey(roomId, userId);
+        try {
+            boolean resumed = Boolean.TRUE.equals(redisTemplate.delete(key));
+            PendingLeave local = pendingLeaves.remove(key);
+            if (local != null) {
+                local.cancel();
+            }
+            if (resumed) {
+                suppressed.increment();
+                logger.info("User ID: {} reconnected to ChatRoom ID: {} within grace period. Skipping LEAVE/JOIN.", userId, roomId);
+            }
+            return resumed;
+        } catch (Exception e) {
+            logger.warn("Failed to check pending LEAVE of User ID: {} in ChatRoom ID: {}. Error: {}", userId, roomId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 노드 종료 시 아직 유예 중인 퇴장이 예정대로 처리될 때까지 기다림. 연결 정리(drain)가 끝난 뒤, Kafka 프로듀서가 닫히기 전에 실행됨.
+     * drain으로 끊긴 사용자는 대부분 유예 시간 안에 다른 노드로 다시 연결하므로, 바로 처리하면 생략해야 할 LEAVE/JOIN이 모두 발행됨.
+     * 기다리는 동안 다른 노드에서 다시 연결되면 Redis 표시가 지워져 퇴장이 생략됨. 최대 유예 시간만큼 종료가 늦어짐.
+     *
+     * @param event 컨텍스트 종료 이벤트
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onContextClosed(ContextClosedEvent event) {
+        if (event.getApplicationContext() != applicationContext || pendingLeaves.isEmpty()) {
+            return;
+        }
+        logger.info("Waiting up to {} ms for {} deferred LEAVEs before shutdown.", graceMs, pendingLeaves.size());
+        long deadline = System.currentTimeMillis() + graceMs;
+        for (PendingLeave pending : List.copyOf(pendingLeaves.values())) {
+            pending.await(deadline);
+        }
+        // 기한 안에 끝나지 않은 예약(스케줄러 지연 등)은 직접 처리함
+        for (PendingLeave pending : List.copyOf(pendingLeaves.values())) {
+            pending.cancel();
+            complete(pending);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+
+    private void complete(PendingLeave pending) {
+        pendingLeaves.remove(pending.key, pending);
+        try {
+            Long claimed = redisTemplate.execute(CLAIM_SCRIPT, List.of(pending.key), pending.token);
+            if (claimed != null && claimed > 0) {
+                pending.leave.run();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to complete deferred LEAVE ({}). Error: {}", pending.key, e.getMessage(), e);
+        }
+    }
+
+    private static String pendingLeaveKey(Long roomId, Long userId) {
+        return PENDING_LEAVE_KEY_PREFIX + roomId + ":" + userId;
+    }
+
+    private static final class PendingLeave {
+
+        private final String key;
+        private final String token;
+        private final Runnable leave;
+        private volatile ScheduledFuture<?> future;
+
+        private PendingLeave(String key, String token, Runnable leave) {
+            this.key = key;
+            this.token = token;
+            this.leave = leave;
+        }
+
+        void await(long deadline) {
+            ScheduledFuture<?> scheduled = future;
+            long remaining = deadline - System.currentTimeMillis();
+            if (scheduled == null || remaining <= 0) {
+                return;
+            }
+            try {
+                scheduled.get(remaining, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (CancellationException | ExecutionException | TimeoutException e) {
+                // 재연결로 취소되었거나 기한이 지난 경우. 남은 예약은 호출한 쪽에서 처리함
+            }
+        }
+
+        void cancel() {
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
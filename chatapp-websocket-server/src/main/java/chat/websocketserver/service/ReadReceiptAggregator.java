@@ -0,0 +1,282 @@
+package chat.websocketserver.service;
+
+import chat.websocketserver.client.MessageServiceClient;
+import chat.websocketserver.config.InstanceIdentity;
+import chat.websocketserver.model.ReadReceipt;
+import chat.websocketserver.model.ReadReceiptUpdate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 읽음 위치(watermark)를 메모리에서 모아 배치로 저장하고, 압축된 변경분만 주기적으로 브로드캐스트하는 서비스.
+ * 사용자/채팅방별로 가장 최근 위치 하나만 유지하므로, 메시지마다 저장하거나 브로드캐스트하지 않음.
+ * 저장은 write-behind 방식으로 message-service에 일괄 전송하며, 실패한 위치는 최대 재시도 횟수까지 다음 플러시에서 다시 시도함.
+ * 브로드캐스트는 로컬 구독자에게 직접 보내고, 다른 노드에는 Redis 채널로 전달함.
+ * 저장(동기 HTTP 호출)과 브로드캐스트는 서로 다른 스레드에서 실행하여, message-service가 느려도 브로드캐스트 주기가 유지됨.
+ * 메시지 ID는 호출자가 19자리 Snowflake 형식인지 확인한 값이어야 함 (문자열 순서 = 시간 순서).
+ */
+@Service
+public class ReadReceiptAggregator implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReceiptAggregator.class);
+
+    // 메시지 ID는 같은 길이(19자리)의 숫자 문자열이므로 문자열 순서가 곧 시간 순서임
+    private static final Comparator<String> MESSAGE_ID_ORDER = Comparator.naturalOrder();
+
+    private final MessageServiceClient messageServiceClient;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String instanceId;
+    private final String channel;
+    private final int maxBatchSize;
+    private final int maxRetries;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // roomId -> (userId -> 마지막으로 읽은 메시지 ID). 저장 대기분과 브로드캐스트 대기분을 따로 유지함
+    private final Map<Long, Map<Long, String>> pendingWrites = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, String>> pendingBroadcasts = new ConcurrentHashMap<>();
+    // 저장에 연속으로 실패한 횟수 ("roomId:userId" -> 실패 횟수). 저장 스레드에서만 변경함
+    private final Map<String, Integer> failedAttempts = new HashMap<>();
+
+    private final ThreadPoolTaskScheduler flushScheduler;
+    private final ThreadPoolTaskScheduler broadcastScheduler;
+
+    private final Counter received;
+    private final Counter flushed;
+    private final Counter flushFailures;
+    private final Counter dropped;
+    private final Counter broadcasts;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param messageServiceClient  메시지 서비스 클라이언트
+     * @param messagingTemplate     STOMP 메시지 템플릿
+     * @param redisTemplate         Redis 템플릿
+     * @param instanceIdentity      현재 노드의 인스턴스 ID
+     * @param meterRegistry         메트릭 레지스트리
+     * @param channel               노드 간 전달에 사용할 Redis 채널
+     * @param flushIntervalMs       저장 플러시 주기(ms)
+     * @param broadcastIntervalMs   브로드캐스트 주기(ms)
+     * @param maxBatchSize          한 번의 저장 요청에 담을 최대 읽음 위치 수
+     * @param maxRetries            저장에 실패한 읽음 위치를 다시 시도할 최대 횟수
+     */
+    public ReadReceiptAggregator(MessageServiceClient messageServiceClient,
+                                 SimpMessagingTemplate messagingTemplate,
+                                 RedisTemplate<String, Object> redisTemplate,
+                                 InstanceIdentity instanceIdentity,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${websocket.read-receipt.channel:chat-read-receipts}") String channel,
+                                 @Value("${websocket.read-receipt.flush-interval-ms:5000}") long flushIntervalMs,
+                                 @Value("${websocket.read-receipt.broadcast-interval-ms:1000}") long broadcastIntervalMs,
+                                 @Value("${websocket.read-receipt.max-batch-size:500}") int maxBatchSize,
+                                 @Value("${websocket.read-receipt.max-retries:5}") int maxRetries) {
+        this.messageServiceClient = messageServiceClient;
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.instanceId = instanceIdentity.getInstanceId();
+        this.channel = channel;
+        this.maxBatchSize = maxBatchSize;
+        this.maxRetries = maxRetries;
+
+        this.received = Counter.builder("websocket.read-receipt.received")
+                .description("Read watermarks received from clients")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("websocket.read-receipt.flushed")
+                .description("Coalesced read watermarks written to message-service")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("websocket.read-receipt.flush.failures")
+                .description("Read watermark batches that failed and were kept for the next flush")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("websocket.read-receipt.dropped")
+                .description("Read watermarks dropped after exceeding the retry limit")
+                .register(meterRegistry);
+        this.broadcasts = Counter.builder("websocket.read-receipt.broadcasts")
+                .description("Compacted read receipt frames broadcast to rooms")
+                .register(meterRegistry);
+        Gauge.builder("websocket.read-receipt.pending", pendingWrites, ReadReceiptAggregator::countEntries)
+                .description("Read watermarks waiting to be written")
+                .register(meterRegistry);
+
+        this.flushScheduler = new ThreadPoolTaskScheduler();
+        this.flushScheduler.setPoolSize(1);
+        this.flushScheduler.setThreadNamePrefix("read-receipt-flush-");
+        this.flushScheduler.initialize();
+        this.flushScheduler.scheduleWithFixedDelay(this::flushWrites, flushIntervalMs);
+
+        this.broadcastScheduler = new ThreadPoolTaskScheduler();
+        this.broadcastScheduler.setPoolSize(1);
+        this.broadcastScheduler.setThreadNamePrefix("read-receipt-broadcast-");
+        this.broadcastScheduler.initialize();
+        this.broadcastScheduler.scheduleWithFixedDelay(this::flushBroadcasts, broadcastIntervalMs);
+    }
+
+    /**
+     * 사용자가 특정 메시지까지 읽었음을 기록함. 이미 더 최근 위치가 기록되어 있으면 무시됨.
+     *
+     * @param roomId    채팅방 ID
+     * @param userId    사용자 ID
+     * @param messageId 마지막으로 읽은 메시지 ID
+     */
+    public void markRead(Long roomId, Long userId, String messageId) {
+        received.increment();
+        advance(pendingWrites, roomId, userId, messageId);
+        advance(pendingBroadcasts, roomId, userId, messageId);
+    }
+
+    /**
+     * 다른 노드에서 Redis 채널로 전달된 압축 프레임을 로컬 구독자에게 브로드캐스트함.
+     * 현재 노드가 발행한 프레임은 이미 로컬에 전달했으므로 무시함.
+     *
+     * @param body Redis 메시지 본문 (JSON)
+     */
+    public void onRemoteUpdate(byte[] body) {
+        try {
+            ReadReceiptUpdate update = objectMapper.readValue(body, ReadReceiptUpdate.class);
+            if (instanceId.equals(update.getOrigin()) || update.getRoomId() == null) {
+                return;
+            }
+            broadcastLocally(update);
+        } catch (Exception e) {
+            logger.warn("Failed to handle read receipt update from Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 노드 간 전달에 사용하는 Redis 채널 이름을 반환함.
+     *
+     * @return Redis 채널
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * 종료 시 남은 읽음 위치를 한 번 더 저장함.
+     */
+    @Override
+    public void destroy() {
+        broadcastScheduler.shutdown();
+        flushScheduler.shutdown();
+        try {
+            // 진행 중인 저장이 끝난 뒤 남은 위치를 저장하여 두 스레드가 동시에 저장하지 않도록 함
+            flushScheduler.getScheduledExecutor().awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushWrites();
+    }
+
+    private synchronized void flushWrites() {
+        List<ReadReceipt> batch = drain(pendingWrites);
+        for (int from = 0; from < batch.size(); from += maxBatchSize) {
+            List<ReadReceipt> chunk = batch.subList(from, Math.min(batch.size(), from + maxBatchSize));
+            try {
+                messageServiceClient.saveReadReceipts(chunk);
+                flushed.increment(chunk.size());
+                chunk.forEach(r -> failedAttempts.remove(attemptKey(r)));
+            } catch (Exception e) {
+                flushFailures.increment();
+                int retained = retainForRetry(chunk);
+                logger.warn("Failed to write {} read watermarks. Will retry {}. Error: {}", chunk.size(), retained,
+                        e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 실패한 위치를 그 사이 들어온 더 최근 위치와 병합하여 다음 플러시에서 다시 저장함.
+     * 최대 재시도 횟수를 넘긴 위치는 버림 (같은 사용자의 다음 읽음 위치가 다시 저장을 시도함).
+     *
+     * @return 다시 시도할 위치 수
+     */
+    private int retainForRetry(List<ReadReceipt> chunk) {
+        int retained = 0;
+        for (ReadReceipt receipt : chunk) {
+            String key = attemptKey(receipt);
+            int attempts = failedAttempts.merge(key, 1, Integer::sum);
+            if (attempts > maxRetries) {
+                failedAttempts.remove(key);
+                dropped.increment();
+                continue;
+            }
+            advance(pendingWrites, receipt.getRoomId(), receipt.getUserId(), receipt.getLastReadMessageId());
+            retained++;
+        }
+        return retained;
+    }
+
+    private static String attemptKey(ReadReceipt receipt) {
+        return receipt.getRoomId() + ":" + receipt.getUserId();
+    }
+
+    private void flushBroadcasts() {
+        Map<Long, List<ReadReceipt>> byRoom = new HashMap<>();
+        for (ReadReceipt receipt : drain(pendingBroadcasts)) {
+            byRoom.computeIfAbsent(receipt.getRoomId(), k -> new ArrayList<>()).add(receipt);
+        }
+        byRoom.forEach((roomId, receipts) -> {
+            ReadReceiptUpdate update = new ReadReceiptUpdate(roomId, receipts, instanceId);
+            try {
+                broadcastLocally(update);
+                redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(update));
+                broadcasts.increment();
+            } catch (Exception e) {
+                logger.warn("Failed to broadcast read receipts of ChatRoom ID: {}. Error: {}", roomId, e.getMessage());
+            }
+        });
+    }
+
+    private void broadcastLocally(ReadReceiptUpdate update) {
+        messagingTemplate.convertAndSend("/topic/chatroom-" + update.getRoomId() + "-receipts", update.getReceipts());
+    }
+
+    private static void advance(Map<Long, Map<Long, String>> pending, Long roomId, Long userId, String messageId) {
+        // 채팅방 맵의 생성/병합과 drain의 빈 맵 제거가 같은 키 잠금 안에서 일어나도록 compute를 사용함
+        pending.compute(roomId, (k, users) -> {
+            Map<Long, String> target = users != null ? users : new ConcurrentHashMap<>();
+            target.merge(userId, messageId, (current, next) -> MESSAGE_ID_ORDER.compare(next, current) > 0 ? next : current);
+            return target;
+        });
+    }
+
+    /**
+     * 대기 중인 읽음 위치를 꺼내 비움. 항목 단위로 제거하므로 꺼내는 동안 들어온 위치는 다음 주기에 처리됨.
+     */
+    private static List<ReadReceipt> drain(Map<Long, Map<Long, String>> pending) {
+        List<ReadReceipt> drained = new ArrayList<>();
+        pending.forEach((roomId, users) -> {
+            for (Long userId : users.keySet()) {
+                String messageId = users.remove(userId);
+                if (messageId != null) {
+                    drained.add(new ReadReceipt(roomId, userId, messageId));
+                }
+            }
+            pending.computeIfPresent(roomId, (k, v) -> v.isEmpty() ? null : v);
+        });
+        return drained;
+    }
+
+    private static double countEntries(Map<Long, Map<Long, String>> pending) {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+}
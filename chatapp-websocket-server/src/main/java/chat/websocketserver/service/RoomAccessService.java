@@ -0,0 +1,67 @@
+package chat.websocketserver.service;
+
+import chat.websocketserver.client.ChatServiceClient;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 채팅방 구독 허용 여부를 확인하는 서비스.
+ * 채팅방이 chat-service에 존재하는지 확인하며, 결과는 로컬 캐시에 보관하여 구독마다 호출하지 않음.
+ * chat-service 오류는 캐시하지 않고 거부함.
+ */
+@Service
+public class RoomAccessService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomAccessService.class);
+
+    private final ChatServiceClient chatServiceClient;
+    private final Cache<Long, Boolean> roomExists;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param chatServiceClient 채팅방 서비스 클라이언트
+     * @param maximumSize       캐시에 보관할 최대 채팅방 수
+     * @param ttlSeconds        확인 결과 유지 시간(초)
+     */
+    public RoomAccessService(ChatServiceClient chatServiceClient,
+                             @Value("${websocket.rooms.cache.maximum-size:100000}") long maximumSize,
+                             @Value("${websocket.rooms.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.chatServiceClient = chatServiceClient;
+        this.roomExists = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 채팅방을 구독할 수 있는지 확인함.
+     *
+     * @param roomId 채팅방 ID
+     * @return 채팅방이 존재하면 true
+     */
+    public boolean canAccess(Long roomId) {
+        Boolean cached = roomExists.getIfPresent(roomId);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            boolean exists = chatServiceClient.getChatRoomById(roomId) != null;
+            roomExists.put(roomId, exists);
+            return exists;
+        } catch (FeignException.NotFound e) {
+            roomExists.put(roomId, false);
+            return false;
+        } catch (Exception e) {
+            logger.warn("Failed to verify ChatRoom ID: {}. Denying subscription. Error: {}", roomId, e.getMessage());
+            return false;
+        }
+    }
+}
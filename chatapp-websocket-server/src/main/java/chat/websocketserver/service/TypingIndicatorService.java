@@ -0,0 +1,207 @@
+package chat.websocketserver.service;
+
+import chat.websocketserver.config.InstanceIdentity;
+import chat.websocketserver.model.TypingEvent;
+import chat.websocketserver.ratelimit.TokenBucket;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * "입력 중" 신호를 처리하는 서비스.
+ * 신호는 Kafka/MongoDB를 거치지 않고 로컬 구독자에게 바로 브로드캐스트한 뒤, Redis 채널로 다른 노드에 전달함.
+ * 입력 시작 신호는 사용자/채팅방별로 최소 간격마다 한 번만 통과시키며, 입력 중단 신호는 항상 통과시킴.
+ * Redis 발행은 전용 스레드에서 수행하고 대기열이 가득 차면 버리므로 인바운드 채널 스레드를 막지 않음.
+ */
+@Service
+public class TypingIndicatorService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypingIndicatorService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String instanceId;
+    private final boolean enabled;
+    private final String channel;
+    private final double permitsPerSecond;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Cache<RoomUser, TokenBucket> throttles;
+    private final ThreadPoolTaskExecutor relayExecutor;
+
+    private final Counter relayed;
+    private final Counter throttled;
+    private final Counter dropped;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param messagingTemplate STOMP 메시지 템플릿
+     * @param redisTemplate     Redis 템플릿
+     * @param instanceIdentity  현재 노드의 인스턴스 ID
+     * @param meterRegistry     메트릭 레지스트리
+     * @param enabled           입력 중 신호 사용 여부
+     * @param channel           노드 간 전달에 사용할 Redis 채널
+     * @param minIntervalMs     사용자/채팅방별 입력 시작 신호 최소 간격(ms)
+     * @param relayQueueSize    Redis 발행 대기열 크기
+     */
+    public TypingIndicatorService(SimpMessagingTemplate messagingTemplate,
+                                  RedisTemplate<String, Object> redisTemplate,
+                                  InstanceIdentity instanceIdentity,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${websocket.typing.enabled:true}") boolean enabled,
+                                  @Value("${websocket.typing.channel:chat-typing}") String channel,
+                                  @Value("${websocket.typing.min-interval-ms:1000}") long minIntervalMs,
+                                  @Value("${websocket.typing.relay-queue-size:1000}") int relayQueueSize) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.instanceId = instanceIdentity.getInstanceId();
+        this.enabled = enabled;
+        this.channel = channel;
+        this.permitsPerSecond = 1000.0 / Math.max(1L, minIntervalMs);
+        this.throttles = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(Math.max(1L, minIntervalMs) * 2))
+                .build();
+
+        this.relayed = Counter.builder("websocket.typing.events")
+                .description("Typing events broadcast by this node")
+                .tag("result", "relayed")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("websocket.typing.events")
+                .description("Typing events broadcast by this node")
+                .tag("result", "throttled")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("websocket.typing.events")
+                .description("Typing events broadcast by this node")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+
+        // 신호는 일시적이므로 Redis가 느려 대기열이 가득 차면 버림
+        this.relayExecutor = new ThreadPoolTaskExecutor();
+        this.relayExecutor.setCorePoolSize(1);
+        this.relayExecutor.setMaxPoolSize(1);
+        this.relayExecutor.setQueueCapacity(relayQueueSize);
+        this.relayExecutor.setThreadNamePrefix("typing-relay-");
+        this.relayExecutor.setRejectedExecutionHandler((task, executor) -> dropped.increment());
+        this.relayExecutor.initialize();
+    }
+
+    /**
+     * 로컬 사용자가 보낸 입력 중 신호를 처리함.
+     *
+     * @param roomId 채팅방 ID
+     * @param userId 사용자 ID
+     * @param typing 입력 중 여부
+     */
+    public void onLocalTyping(Long roomId, Long userId, boolean typing) {
+        if (!enabled) {
+            return;
+        }
+        if (typing && !throttles.get(new RoomUser(roomId, userId), key -> new TokenBucket(1, permitsPerSecond))
+                .tryConsume(System.nanoTime())) {
+            throttled.increment();
+            return;
+        }
+        if (!typing) {
+            // 중단 후 바로 다시 입력하면 시작 신호가 즉시 전달되도록 제한 상태를 초기화함
+            throttles.invalidate(new RoomUser(roomId, userId));
+        }
+
+        TypingEvent event = new TypingEvent(roomId, userId, typing, instanceId);
+        broadcastLocally(event);
+        relayed.increment();
+        relayExecutor.execute(() -> publish(event));
+    }
+
+    /**
+     * 다른 노드에서 Redis 채널로 전달된 입력 중 신호를 로컬 구독자에게 브로드캐스트함.
+     * 현재 노드가 발행한 신호는 이미 로컬에 전달했으므로 무시함.
+     *
+     * @param body Redis 메시지 본문 (JSON)
+     */
+    public void onRemoteTyping(byte[] body) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            TypingEvent event = objectMapper.readValue(body, TypingEvent.class);
+            if (instanceId.equals(event.getOrigin()) || event.getRoomId() == null) {
+                return;
+            }
+            broadcastLocally(event);
+        } catch (Exception e) {
+            logger.warn("Failed to handle typing event from Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 노드 간 전달에 사용하는 Redis 채널 이름을 반환함.
+     *
+     * @return Redis 채널
+     */
+    public String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void destroy() {
+        relayExecutor.shutdown();
+    }
+
+    private void broadcastLocally(TypingEvent event) {
+        messagingTemplate.convertAndSend("/topic/chatroom-" + event.getRoomId() + "-typing", event);
+    }
+
+    private void publish(TypingEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize typing event: {}", e.getMessage());
+        } catch (Exception e) {
+            dropped.increment();
+            logger.debug("Failed to relay typing event over Redis: {}", e.getMessage());
+        }
+    }
+
+    private static final class RoomUser {
+
+        private final Long roomId;
+        private final Long userId;
+
+        private RoomUser(Long roomId, Long userId) {
+            this.roomId = roomId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RoomUser)) {
+                return false;
+            }
+            RoomUser other = (RoomUser) o;
+            return Objects.equals(roomId, other.roomId) && Objects.equals(userId, other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roomId, userId);
+        }
+    }
+}
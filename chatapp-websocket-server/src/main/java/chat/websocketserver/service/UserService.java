@@ -2,34 +2,69 @@ package chat.websocketserver.service;
 
 import chat.websocketserver.client.UserServiceClient;
 import chat.websocketserver.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
  * 유저 관련 비즈니스 로직을 처리하는 서비스 클래스.
+ * 유저 프로필은 크기와 TTL로 제한된 로컬 캐시에 보관하며, 캐시에 없는 유저만 한 번에 조회함.
  */
 @Service
 public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    private static final String CACHE_NAME = "user-profiles";
+
     private final UserServiceClient userServiceClient;
+    private final Cache<Long, User> profileCache;
+    private final DistributionSummary missBatchSize;
+
+    // 무효화가 발생할 때마다 증가함. 조회 도중 무효화가 있었다면 조회 결과를 캐시에 넣지 않음
+    private final AtomicLong invalidations = new AtomicLong();
 
     /**
      * 생성자 주입을 통해 의존성을 주입받음.
      *
      * @param userServiceClient 외부 유저 서비스 클라이언트
+     * @param meterRegistry     메트릭 레지스트리
+     * @param maximumSize       캐시에 보관할 최대 프로필 수
+     * @param ttlSeconds        프로필 캐시 유지 시간(초)
      */
-    public UserService(UserServiceClient userServiceClient) {
+    public UserService(UserServiceClient userServiceClient,
+                       MeterRegistry meterRegistry,
+                       @Value("${websocket.user-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${websocket.user-cache.ttl-seconds:600}") long ttlSeconds) {
         this.userServiceClient = userServiceClient;
+        this.profileCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, profileCache, CACHE_NAME);
+        this.missBatchSize = DistributionSummary.builder("websocket.user.profile.miss.batch.size")
+                .description("Number of user ids fetched from user-service per cache-miss batch")
+                .register(meterRegistry);
     }
 
     /**
      * 유저 ID 목록을 받아 유저 정보 리스트를 반환함.
+     * 캐시에 없는 유저만 모아 한 번의 호출로 조회함.
      *
      * @param userIds 유저 ID의 집합
      * @return 유저 정보 리스트
@@ -40,15 +75,43 @@ public class UserService {
             return List.of();
         }
 
+        Map<Long, User> cached = profileCache.getAllPresent(userIds);
+        List<User> users = new ArrayList<>(cached.values());
+        if (cached.size() == userIds.size()) {
+            return users;
+        }
+
+        List<Long> missingIds = userIds.stream()
+                .filter(id -> !cached.containsKey(id))
+                .collect(Collectors.toList());
+        missBatchSize.record(missingIds.size());
+
         try {
-            logger.info("Fetching users for userIds: {}", userIds);
-            List<User> users = userServiceClient.getUsersByIds(List.copyOf(userIds));
+            logger.info("Fetching users for userIds: {} ({} served from cache)", missingIds, cached.size());
+            long invalidationsBefore = invalidations.get();
+            List<User> fetched = userServiceClient.getUsersByIds(missingIds);
+            if (invalidations.get() == invalidationsBefore) {
+                fetched.stream()
+                        .filter(user -> user.getId() != null)
+                        .forEach(user -> profileCache.put(user.getId(), user));
+            }
+            users.addAll(fetched);
             logger.info("Successfully retrieved {} users.", users.size());
             return users;
         } catch (Exception e) {
-            logger.error("Error fetching users for userIds: {}. Error: {}", userIds, e.getMessage());
+            logger.error("Error fetching users for userIds: {}. Error: {}", missingIds, e.getMessage());
             // 필요 시 사용자 정의 예외로 변환하여 던질 수 있습니다.
             throw e;
         }
     }
+
+    /**
+     * 캐시된 유저 프로필을 무효화함.
+     *
+     * @param userId 유저 ID
+     */
+    public void invalidateUser(Long userId) {
+        invalidations.incrementAndGet();
+        profileCache.invalidate(userId);
+    }
 }
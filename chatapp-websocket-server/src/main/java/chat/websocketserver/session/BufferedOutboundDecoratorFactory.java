@@ -0,0 +1,60 @@
+package chat.websocketserver.session;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * STOMP 하위 프로토콜 핸들러에 전달되는 세션을 송신 버퍼가 적용된 세션으로 교체하는 데코레이터 팩토리.
+ * 세션의 전송 방식을 세션 속성에 기록하고, 전송 방식별 메트릭을 갱신함.
+ * 세션을 하트비트 타이밍 휠에 등록하고, 수신한 프레임마다 마지막 수신 시각을 갱신함.
+ */
+@Component
+public class BufferedOutboundDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    private final SessionOutboundRegistry sessionOutboundRegistry;
+    private final TransportMetrics transportMetrics;
+    private final HeartbeatWheel heartbeatWheel;
+
+    public BufferedOutboundDecoratorFactory(SessionOutboundRegistry sessionOutboundRegistry,
+                                            TransportMetrics transportMetrics,
+                                            HeartbeatWheel heartbeatWheel) {
+        this.sessionOutboundRegistry = sessionOutboundRegistry;
+        this.transportMetrics = transportMetrics;
+        this.heartbeatWheel = heartbeatWheel;
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                session.getAttributes().put(SessionTransport.ATTRIBUTE, SessionTransport.of(session));
+                TransportMetrics.TransportMeters meters = transportMetrics.metersFor(session);
+                meters.recordOpened();
+                BufferedOutboundSession buffered = sessionOutboundRegistry.register(session, meters);
+                heartbeatWheel.track(buffered);
+                super.afterConnectionEstablished(buffered);
+            }
+
+            @Override
+            public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
+                transportMetrics.metersFor(session).recordReceived(message.getPayloadLength());
+                heartbeatWheel.onRead(session.getId());
+                super.handleMessage(session, message);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                heartbeatWheel.untrack(session.getId());
+                sessionOutboundRegistry.unregister(session.getId());
+                transportMetrics.metersFor(session).recordClosed();
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+}
@@ -0,0 +1,402 @@
+package chat.websocketserver.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션마다 크기가 제한된 송신 버퍼를 두는 WebSocket 세션 데코레이터.
+ * sendMessage는 프레임을 버퍼에 넣고 바로 반환하며, 실제 전송은 플러시 스레드가 세션당 하나씩 순서대로 수행함.
+ * 따라서 느린 클라이언트가 아웃바운드 채널 스레드를 붙잡지 않고, 버퍼가 가득 차면 설정된 정책을 적용함.
+ * 대기 바이트 수나 진행 중인 전송 시간이 임계값을 넘으면 저하 모드로 전환하여 채팅 메시지 프레임 대신
+ * 주기적인 요약 프레임만 전달하고, 버퍼를 모두 비우면 다시 실시간 모드로 돌아옴.
+ * Spring의 ConcurrentWebSocketSessionDecorator는 이 데코레이터 바깥에 있어 전송이 항상 즉시 끝나므로,
+ * 전송 시간 제한과 버퍼 크기 제한(send-time-limit-ms, send-buffer-size-limit)은 이 클래스가 직접 적용함.
+ */
+public class BufferedOutboundSession extends WebSocketSessionDecorator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BufferedOutboundSession.class);
+
+    // Tomcat의 블로킹 전송 제한 시간(ms) 세션 속성. 멈춘 전송이 플러시 스레드를 무기한 붙잡지 않도록 함
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+
+    private final int bufferLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final TaskExecutor flushExecutor;
+    private final SessionOutboundRegistry registry;
+    private final TransportMetrics.TransportMeters transportMeters;
+    private final long degradeBufferedBytes;
+    private final long degradeSendTimeMs;
+    private final long sendTimeLimitMs;
+    private final long sendBufferSizeLimit;
+
+    private final Deque<WebSocketMessage<?>> buffer = new ArrayDeque<>();
+    // 버퍼에 대기 중인 프레임의 총 바이트 수 (buffer 잠금으로 보호)
+    private long bufferedBytes;
+    // 저하 모드에서 구독별로 누락된 채팅 메시지 수 (buffer 잠금으로 보호)
+    private final Map<String, PendingSummary> pendingSummaries = new LinkedHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicLong droppedFrames = new AtomicLong();
+
+    // 현재 진행 중인 전송의 시작 시각 (전송 중이 아니면 0)
+    private volatile long sendStartedAt;
+    // 마지막으로 프레임 전송을 마친 시각 (System.nanoTime 기준, 하트비트 전송 여부 판단용)
+    private volatile long lastSentNanos = System.nanoTime();
+    private volatile boolean closed;
+    private volatile boolean degraded;
+
+    /**
+     * @param session        실제 WebSocket 세션
+     * @param bufferLimit    세션당 최대 대기 프레임 수
+     * @param overflowPolicy 버퍼 초과 시 처리 방식
+     * @param flushExecutor  버퍼를 비우는 실행기
+     * @param registry       메트릭을 기록할 레지스트리
+     * @param transportMeters 전송 방식별 처리량 메트릭
+     * @param degradeBufferedBytes 저하 모드로 전환하는 대기 바이트 수, 0 이하이면 사용하지 않음
+     * @param degradeSendTimeMs    저하 모드로 전환하는 단일 전송 시간(ms), 0 이하이면 사용하지 않음
+     * @param sendTimeLimitMs      단일 전송이 이 시간(ms)을 넘으면 세션을 종료함, 0 이하이면 사용하지 않음
+     * @param sendBufferSizeLimit  대기 바이트 수가 이 크기를 넘으면 세션을 종료함, 0 이하이면 사용하지 않음
+     */
+    public BufferedOutboundSession(WebSocketSession session, int bufferLimit, OverflowPolicy overflowPolicy,
+                                   TaskExecutor flushExecutor, SessionOutboundRegistry registry,
+                                   TransportMetrics.TransportMeters transportMeters,
+                                   long degradeBufferedBytes, long degradeSendTimeMs,
+                                   long sendTimeLimitMs, long sendBufferSizeLimit) {
+        super(session);
+        this.bufferLimit = bufferLimit;
+        this.overflowPolicy = overflowPolicy;
+        this.flushExecutor = flushExecutor;
+        this.registry = registry;
+        this.transportMeters = transportMeters;
+        this.degradeBufferedBytes = degradeBufferedBytes;
+        this.degradeSendTimeMs = degradeSendTimeMs;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        applyBlockingSendTimeout(session, sendTimeLimitMs);
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        if (degraded) {
+            StompFrames.RoomFrame roomFrame = StompFrames.parseRoomMessage(message);
+            if (roomFrame != null) {
+                synchronized (buffer) {
+                    recordSummarized(roomFrame);
+                }
+                return;
+            }
+        }
+
+        boolean overflow = false;
+        synchronized (buffer) {
+            if (buffer.size() >= bufferLimit) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST:
+                        removeFirst();
+                        append(message);
+                        recordDropped();
+                        break;
+                    case DROP_NEWEST:
+                        recordDropped();
+                        return;
+                    default:
+                        overflow = true;
+                }
+            } else {
+                append(message);
+            }
+            if (!degraded && isLagging()) {
+                degrade();
+            }
+            // 저하 모드로 회수한 뒤에도 대기 바이트 수가 한도를 넘으면 세션을 종료함
+            if (sendBufferSizeLimit > 0 && bufferedBytes > sendBufferSizeLimit) {
+                overflow = true;
+            }
+        }
+
+        if (overflow) {
+            logger.warn("Outbound buffer limit ({} frames, {} bytes) exceeded for session {}. Disconnecting.",
+                    bufferLimit, sendBufferSizeLimit, getId());
+            registry.recordDisconnect();
+            closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            return;
+        }
+        scheduleFlush();
+    }
+
+    @Override
+    public void close(CloseStatus status) throws IOException {
+        closed = true;
+        clearBuffer();
+        super.close(status);
+    }
+
+    /**
+     * @return 전송 대기 중인 프레임 수
+     */
+    public int getQueuedFrames() {
+        synchronized (buffer) {
+            return buffer.size();
+        }
+    }
+
+    /**
+     * @return 현재 진행 중인 전송이 걸리고 있는 시간(ms), 전송 중이 아니면 0
+     */
+    public long getSendingForMillis() {
+        long startedAt = sendStartedAt;
+        return startedAt == 0 ? 0 : System.currentTimeMillis() - startedAt;
+    }
+
+    /**
+     * @return 마지막으로 프레임 전송을 마친 시각 (System.nanoTime 기준)
+     */
+    public long getLastSentNanos() {
+        return lastSentNanos;
+    }
+
+    /**
+     * @return 버퍼 초과로 버려진 프레임 수
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * @return 전송 대기 중인 프레임의 총 바이트 수
+     */
+    public long getBufferedBytes() {
+        synchronized (buffer) {
+            return bufferedBytes;
+        }
+    }
+
+    /**
+     * @return 저하 모드 여부
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * 주기적으로 호출되어 느린 세션을 감지하고, 저하 모드 세션에는 누락된 메시지 요약을 전송함.
+     * 버퍼가 모두 비워졌고 진행 중인 전송이 없으면 요약을 마지막으로 실시간 모드로 복귀함.
+     */
+    void tick() {
+        if (closed) {
+            return;
+        }
+        boolean summariesQueued;
+        synchronized (buffer) {
+            if (!degraded) {
+                if (isLagging()) {
+                    degrade();
+                }
+                return;
+            }
+            boolean caughtUp = buffer.isEmpty() && sendStartedAt == 0;
+            summariesQueued = !pendingSummaries.isEmpty();
+            for (PendingSummary summary : pendingSummaries.values()) {
+                append(StompFrames.summaryFrame(summary.frame, summary.missedFrames, summary.since));
+            }
+            pendingSummaries.clear();
+            if (caughtUp) {
+                degraded = false;
+                registry.recordRecovered();
+            }
+        }
+        if (summariesQueued) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 주기적으로 호출되어 전송 시간 제한을 넘긴 세션을 종료함.
+     * 플러시 작업이 거부되어 남아 있는 프레임이 있으면 플러시를 다시 예약함.
+     */
+    void checkSend() {
+        if (closed) {
+            return;
+        }
+        long sendingFor = getSendingForMillis();
+        if (sendTimeLimitMs > 0 && sendingFor > sendTimeLimitMs) {
+            logger.warn("Send to session {} has been blocked for {} ms (limit {} ms). Disconnecting.",
+                    getId(), sendingFor, sendTimeLimitMs);
+            registry.recordSendTimeout();
+            closed = true;
+            clearBuffer();
+            // 실제 세션을 닫으면 멈춘 전송이 오류로 끝나 플러시 스레드가 반환됨.
+            // 닫기도 멈춘 전송과 같은 잠금을 기다릴 수 있으므로 점검 스레드가 아닌 별도 스레드에서 닫음
+            registry.closeAsync(() -> closeQuietly(CloseStatus.SESSION_NOT_RELIABLE));
+            return;
+        }
+        if (getQueuedFrames() > 0) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 세션이 종료되었을 때 남은 프레임을 버림.
+     */
+    void release() {
+        closed = true;
+        clearBuffer();
+    }
+
+    private void scheduleFlush() {
+        if (flushing.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (TaskRejectedException e) {
+                // 플러시 큐가 가득 찬 경우 프레임은 버퍼에 남겨 두고 다음 점검(checkSend)에서 다시 예약함
+                flushing.set(false);
+                registry.recordFlushRejected();
+            }
+        }
+    }
+
+    private void flush() {
+        while (true) {
+            WebSocketMessage<?> message;
+            synchronized (buffer) {
+                message = removeFirst();
+            }
+            if (message == null) {
+                flushing.set(false);
+                // flushing 플래그를 내리는 사이에 추가된 프레임이 있으면 다시 플러시를 맡음
+                if (getQueuedFrames() > 0 && flushing.compareAndSet(false, true)) {
+                    continue;
+                }
+                return;
+            }
+            if (closed) {
+                continue;
+            }
+            sendStartedAt = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(message);
+                lastSentNanos = System.nanoTime();
+                transportMeters.recordSent(message.getPayloadLength());
+            } catch (Exception e) {
+                logger.debug("Failed to send frame to session {}. Error: {}", getId(), e.getMessage());
+                closed = true;
+                clearBuffer();
+                closeQuietly(CloseStatus.SESSION_NOT_RELIABLE);
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+    }
+
+    private boolean isLagging() {
+        return (degradeBufferedBytes > 0 && bufferedBytes > degradeBufferedBytes)
+                || (degradeSendTimeMs > 0 && getSendingForMillis() > degradeSendTimeMs);
+    }
+
+    /**
+     * 저하 모드로 전환하고, 버퍼에 대기 중인 채팅 메시지 프레임을 요약으로 대체하여 메모리를 회수함.
+     * buffer 잠금을 보유한 상태에서 호출해야 함.
+     */
+    private void degrade() {
+        degraded = true;
+        Iterator<WebSocketMessage<?>> iterator = buffer.iterator();
+        while (iterator.hasNext()) {
+            WebSocketMessage<?> queued = iterator.next();
+            StompFrames.RoomFrame roomFrame = StompFrames.parseRoomMessage(queued);
+            if (roomFrame != null) {
+                iterator.remove();
+                bufferedBytes -= queued.getPayloadLength();
+                recordSummarized(roomFrame);
+            }
+        }
+        logger.info("Session {} is lagging behind. Switching to summary frames.", getId());
+        registry.recordDegraded();
+    }
+
+    private void recordSummarized(StompFrames.RoomFrame roomFrame) {
+        pendingSummaries.computeIfAbsent(roomFrame.subscription, key -> new PendingSummary(roomFrame)).missedFrames++;
+        registry.recordSummarized();
+    }
+
+    private void append(WebSocketMessage<?> message) {
+        buffer.addLast(message);
+        bufferedBytes += message.getPayloadLength();
+    }
+
+    private WebSocketMessage<?> removeFirst() {
+        WebSocketMessage<?> message = buffer.pollFirst();
+        if (message != null) {
+            bufferedBytes -= message.getPayloadLength();
+        }
+        return message;
+    }
+
+    private void recordDropped() {
+        droppedFrames.incrementAndGet();
+        registry.recordDropped(overflowPolicy);
+    }
+
+    private void clearBuffer() {
+        synchronized (buffer) {
+            buffer.clear();
+            bufferedBytes = 0;
+            pendingSummaries.clear();
+        }
+    }
+
+    private void closeQuietly(CloseStatus status) {
+        try {
+            close(status);
+        } catch (Exception e) {
+            logger.debug("Failed to close session {}. Error: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 순수 WebSocket 세션(Tomcat)이면 블로킹 전송 자체에도 제한 시간을 둠.
+     * SockJS 세션은 내부 전송 세션에 접근할 수 없으므로 checkSend의 세션 종료에만 의존함.
+     */
+    private static void applyBlockingSendTimeout(WebSocketSession session, long sendTimeLimitMs) {
+        if (sendTimeLimitMs <= 0 || !(session instanceof NativeWebSocketSession)) {
+            return;
+        }
+        Session nativeSession = ((NativeWebSocketSession) session).getNativeSession(Session.class);
+        if (nativeSession != null) {
+            nativeSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, sendTimeLimitMs);
+        }
+    }
+
+    /**
+     * 저하 모드에서 하나의 구독에 대해 누락된 채팅 메시지 수.
+     */
+    private static final class PendingSummary {
+
+        private final StompFrames.RoomFrame frame;
+        private final long since = System.currentTimeMillis();
+        private long missedFrames;
+
+        private PendingSummary(StompFrames.RoomFrame frame) {
+            this.frame = frame;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package chat.websocketserver.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * permessage-deflate 사용 여부와 노드 단위 메모리 예산을 관리하는 컴포넌트.
+ * JDK zlib은 윈도우 크기를 줄일 수 없어 압축 연결 하나가 고정된 네이티브 메모리를 사용하므로,
+ * 예산을 연결당 추정 사용량으로 나눈 수만큼만 압축 연결을 허용하고 이후 연결은 압축 없이 협상함.
+ * 슬롯은 핸드셰이크의 협상 단계에서 CAS로 예약하므로 동시에 들어온 핸드셰이크도 예산을 넘기지 않으며,
+ * 핸드셰이크가 실패하거나 연결이 닫히면 release로 반환함.
+ */
+@Component
+public class CompressionBudget {
+
+    public static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    // Deflater(windowBits 15, memLevel 8): (1 << 17) + (1 << 17) = 256KB, Inflater(windowBits 15): 약 44KB
+    static final long ESTIMATED_BYTES_PER_SESSION = 300L * 1024;
+
+    private final boolean enabled;
+    private final int maxSessions;
+
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final Counter declined;
+
+    /**
+     * 생성자 주입을 통해 설정 값을 주입받음.
+     *
+     * @param meterRegistry  메트릭 레지스트리
+     * @param enabled        permessage-deflate 허용 여부
+     * @param memoryBudgetMb 압축 상태에 사용할 노드 단위 메모리 예산(MB)
+     */
+    public CompressionBudget(MeterRegistry meterRegistry,
+                             @Value("${websocket.compression.enabled:false}") boolean enabled,
+                             @Value("${websocket.compression.memory-budget-mb:256}") long memoryBudgetMb) {
+        this.enabled = enabled;
+        this.maxSessions = (int) Math.min(Integer.MAX_VALUE, memoryBudgetMb * 1024 * 1024 / ESTIMATED_BYTES_PER_SESSION);
+
+        this.declined = Counter.builder("websocket.compression.declined")
+                .description("Handshakes that offered permessage-deflate but were accepted without compression")
+                .register(meterRegistry);
+        Gauge.builder("websocket.compression.sessions", activeSessions, AtomicInteger::get)
+                .description("Open sessions using permessage-deflate on this node")
+                .register(meterRegistry);
+        Gauge.builder("websocket.compression.sessions.max", this, budget -> budget.maxSessions)
+                .description("Compressed sessions allowed by the node memory budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 핸드셰이크에서 permessage-deflate를 수락할지 결정하고, 수락하면 예산에서 슬롯 하나를 예약함.
+     * true를 받은 호출자는 핸드셰이크 실패 또는 연결 종료 시 반드시 release를 한 번 호출해야 함.
+     *
+     * @return 압축을 수락(슬롯 예약)하면 true
+     */
+    public boolean admit() {
+        if (enabled) {
+            while (true) {
+                int current = activeSessions.get();
+                if (current >= maxSessions) {
+                    break;
+                }
+                if (activeSessions.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        declined.increment();
+        return false;
+    }
+
+    /**
+     * admit으로 예약한 슬롯을 반환함.
+     */
+    public void release() {
+        activeSessions.updateAndGet(count -> Math.max(0, count - 1));
+    }
+}
@@ -0,0 +1,193 @@
+package chat.websocketserver.session;
+
+import chat.websocketserver.model.ReconnectHint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.netflix.eureka.serviceregistry.EurekaRegistration;
+import org.springframework.cloud.netflix.eureka.serviceregistry.EurekaServiceRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 노드 종료 시 연결을 점진적으로 정리(drain)하는 컴포넌트.
+ * 컨텍스트 종료가 시작되면 새 핸드셰이크를 거부하고 Eureka에서 DOWN으로 전환한 뒤,
+ * 세션마다 재연결 안내(/user/queue/reconnect)를 보내고 설정된 시간에 걸쳐 나누어 종료함 (1012 Service Restart).
+ * 웹소켓 핸들러와 브로커가 멈추기 전에 끝나야 하므로 SmartLifecycle 중지보다 먼저 발행되는 ContextClosedEvent에서 동기로 수행함.
+ */
+@Component
+public class ConnectionDrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionDrainer.class);
+
+    private static final String RECONNECT_DESTINATION = "/queue/reconnect";
+    private static final CloseStatus DRAIN_CLOSE_STATUS = CloseStatus.SERVICE_RESTARTED.withReason("draining");
+
+    private final ApplicationContext applicationContext;
+    private final SessionOutboundRegistry sessionOutboundRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectProvider<EurekaRegistration> eurekaRegistration;
+    private final ObjectProvider<EurekaServiceRegistry> eurekaServiceRegistry;
+    private final boolean enabled;
+    private final long windowMs;
+    private final long stepMs;
+    private final long deregistrationDelayMs;
+    private final long reconnectJitterMs;
+
+    private volatile boolean draining;
+
+    private final Counter drainedSessions;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param applicationContext      애플리케이션 컨텍스트 (하위 컨텍스트의 종료 이벤트 구분용)
+     * @param sessionOutboundRegistry 세션 송신 버퍼 레지스트리 (현재 노드의 세션 목록)
+     * @param messagingTemplate       STOMP 메시지 템플릿
+     * @param eurekaRegistration      Eureka 등록 정보 (Eureka 비활성화 시 없음)
+     * @param eurekaServiceRegistry   Eureka 서비스 레지스트리 (Eureka 비활성화 시 없음)
+     * @param meterRegistry           메트릭 레지스트리
+     * @param enabled                 drain 사용 여부
+     * @param windowMs                세션을 나누어 종료하는 전체 시간(ms)
+     * @param stepMs                  종료 단계 간격(ms)
+     * @param deregistrationDelayMs   Eureka 해제 후 게이트웨이가 목록을 갱신하도록 기다리는 시간(ms)
+     * @param reconnectJitterMs       재연결 안내에 넣을 최대 대기 시간(ms)
+     */
+    public ConnectionDrainer(ApplicationContext applicationContext,
+                             SessionOutboundRegistry sessionOutboundRegistry,
+                             SimpMessagingTemplate messagingTemplate,
+                             ObjectProvider<EurekaRegistration> eurekaRegistration,
+                             ObjectProvider<EurekaServiceRegistry> eurekaServiceRegistry,
+                             MeterRegistry meterRegistry,
+                             @Value("${websocket.drain.enabled:true}") boolean enabled,
+                             @Value("${websocket.drain.window-ms:20000}") long windowMs,
+                             @Value("${websocket.drain.step-ms:1000}") long stepMs,
+                             @Value("${websocket.drain.deregistration-delay-ms:3000}") long deregistrationDelayMs,
+                             @Value("${websocket.drain.reconnect-jitter-ms:5000}") long reconnectJitterMs) {
+        this.applicationContext = applicationContext;
+        this.sessionOutboundRegistry = sessionOutboundRegistry;
+        this.messagingTemplate = messagingTemplate;
+        this.eurekaRegistration = eurekaRegistration;
+        this.eurekaServiceRegistry = eurekaServiceRegistry;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.stepMs = Math.max(1L, stepMs);
+        this.deregistrationDelayMs = deregistrationDelayMs;
+        this.reconnectJitterMs = reconnectJitterMs;
+
+        this.drainedSessions = Counter.builder("websocket.drain.sessions")
+                .description("Sessions closed with a reconnect hint while draining")
+                .register(meterRegistry);
+        Gauge.builder("websocket.drain.active", this, drainer -> drainer.isDraining() ? 1 : 0)
+                .description("1 while this node is draining connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * drain 중인지 여부를 반환함. drain 중에는 새 핸드셰이크를 받지 않음.
+     *
+     * @return drain 중이면 true
+     */
+    public boolean isDraining() {
+        return draining;
+    }
+
+    /**
+     * 컨텍스트 종료 시 연결을 정리함. 다른 종료 처리보다 먼저 실행됨.
+     *
+     * @param event 컨텍스트 종료 이벤트
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onContextClosed(ContextClosedEvent event) {
+        if (!enabled || draining || event.getApplicationContext() != applicationContext) {
+            return;
+        }
+        draining = true;
+        deregister();
+
+        try {
+            Thread.sleep(deregistrationDelayMs);
+            drainSessions();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Connection drain interrupted. Closing remaining sessions now.");
+            sessionOutboundRegistry.getSessions().forEach(this::close);
+        }
+    }
+
+    private void deregister() {
+        EurekaRegistration registration = eurekaRegistration.getIfAvailable();
+        EurekaServiceRegistry serviceRegistry = eurekaServiceRegistry.getIfAvailable();
+        if (registration != null && serviceRegistry != null) {
+            serviceRegistry.deregister(registration);
+            logger.info("Marked instance {} DOWN in Eureka before draining.", registration.getInstanceId());
+        }
+    }
+
+    /**
+     * 세션을 단계마다 일정 수씩 종료함. 각 세션은 한 단계 앞서 재연결 안내를 받아 안내 프레임이 먼저 전송되도록 함.
+     */
+    private void drainSessions() throws InterruptedException {
+        List<WebSocketSession> sessions = sessionOutboundRegistry.getSessions();
+        int total = sessions.size();
+        long steps = Math.max(1L, windowMs / stepMs);
+        int perStep = (int) Math.max(1L, (total + steps - 1) / steps);
+        logger.info("Draining {} sessions over {} ms ({} per step).", total, windowMs, perStep);
+
+        List<WebSocketSession> hinted = Collections.emptyList();
+        for (int from = 0; from < total; from += perStep) {
+            hinted.forEach(this::close);
+            hinted = sessions.subList(from, Math.min(total, from + perStep));
+            hinted.forEach(this::sendReconnectHint);
+            Thread.sleep(stepMs);
+        }
+        hinted.forEach(this::close);
+        logger.info("Connection drain finished.");
+    }
+
+    private void sendReconnectHint(WebSocketSession session) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            long retryAfterMs = reconnectJitterMs > 0 ? ThreadLocalRandom.current().nextLong(reconnectJitterMs) : 0L;
+            SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            headers.setSessionId(session.getId());
+            headers.setLeaveMutable(true);
+            messagingTemplate.convertAndSendToUser(session.getId(), RECONNECT_DESTINATION,
+                    new ReconnectHint("RECONNECT", "DRAINING", retryAfterMs), headers.getMessageHeaders());
+        } catch (Exception e) {
+            logger.debug("Failed to send reconnect hint to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void close(WebSocketSession session) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.close(DRAIN_CLOSE_STATUS);
+            drainedSessions.increment();
+        } catch (Exception e) {
+            logger.debug("Failed to close session {} while draining: {}", session.getId(), e.getMessage());
+        }
+    }
+}
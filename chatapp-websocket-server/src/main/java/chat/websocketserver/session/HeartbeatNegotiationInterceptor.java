@@ -0,0 +1,48 @@
+package chat.websocketserver.session;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+/**
+ * STOMP 하트비트를 협상하는 채널 인터셉터.
+ * 인바운드 CONNECT의 heart-beat 헤더를 HeartbeatWheel에 전달하고,
+ * 아웃바운드 CONNECT_ACK에 서버 설정을 넣어 CONNECTED 프레임의 heart-beat 헤더로 알림.
+ * 브로커 자체의 하트비트(전체 세션 순회)는 사용하지 않고 HeartbeatWheel이 전송과 유휴 확인을 모두 담당함.
+ */
+@Component
+public class HeartbeatNegotiationInterceptor implements ChannelInterceptor {
+
+    private final HeartbeatWheel heartbeatWheel;
+
+    public HeartbeatNegotiationInterceptor(HeartbeatWheel heartbeatWheel) {
+        this.heartbeatWheel = heartbeatWheel;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (SimpMessageType.CONNECT.equals(messageType)) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+            if (sessionId != null) {
+                heartbeatWheel.negotiate(sessionId, SimpMessageHeaderAccessor.getHeartbeat(message.getHeaders()));
+            }
+            return message;
+        }
+        if (SimpMessageType.CONNECT_ACK.equals(messageType)
+                && message.getHeaders().get(SimpMessageHeaderAccessor.HEART_BEAT_HEADER) == null) {
+            long[] heartbeat = heartbeatWheel.advertisedHeartbeat();
+            if (heartbeat == null) {
+                return message;
+            }
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            accessor.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, heartbeat);
+            return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        }
+        return message;
+    }
+}
@@ -0,0 +1,302 @@
+package chat.websocketserver.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 해시 타이밍 휠(hashed timing wheel)로 STOMP 하트비트 전송과 유휴 세션 정리를 처리하는 컴포넌트.
+ * 세션마다 타이머를 두지 않고, 하나의 스레드가 tick마다 해당 슬롯에 예약된 세션만 확인함.
+ * 수신 시각은 프레임마다 필드 하나만 갱신하고 슬롯은 옮기지 않으며, 확인 시점에 다음 기한을 계산하여 다시 예약함.
+ * 따라서 세션 하나에 드는 비용은 하트비트 주기당 한 번의 확인으로 일정하고, tick당 비용은 전체 세션 수와 무관함.
+ * 기한 안에 아무 프레임도 받지 못한 세션은 종료하며, 종료된 세션은 일반 연결 해제와 같이 LEAVE 이벤트를 발생시킴.
+ */
+@Component
+public class HeartbeatWheel implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatWheel.class);
+
+    // STOMP 하트비트는 줄바꿈 하나로 된 프레임임
+    private static final TextMessage HEARTBEAT = new TextMessage("\n");
+    private static final CloseStatus REAP_CLOSE_STATUS = CloseStatus.SESSION_NOT_RELIABLE.withReason("heartbeat timeout");
+
+    private final boolean enabled;
+    private final long serverIntervalMs;
+    private final long clientIntervalMs;
+    private final int missedHeartbeats;
+    private final long connectTimeoutNanos;
+    private final long tickNanos;
+    private final int mask;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry>[] wheel;
+    private volatile long currentTick;
+
+    private final ThreadPoolTaskScheduler ticker;
+    private final ThreadPoolTaskExecutor reaper;
+
+    private final Counter heartbeatsSent;
+    private final Counter reapedHeartbeat;
+    private final Counter reapedConnect;
+
+    /**
+     * 생성자 주입을 통해 설정 값을 주입받음.
+     *
+     * @param meterRegistry    메트릭 레지스트리
+     * @param enabled          하트비트 사용 여부
+     * @param serverIntervalMs 서버가 하트비트를 보낼 수 있는 최소 간격(ms), 0이면 보내지 않음
+     * @param clientIntervalMs 서버가 클라이언트에게 요구하는 하트비트 간격(ms), 0이면 요구하지 않음
+     * @param missedHeartbeats 세션을 종료하기 전까지 허용하는 하트비트 누락 횟수
+     * @param connectTimeoutMs 핸드셰이크 후 STOMP CONNECT까지 기다리는 시간(ms)
+     * @param tickMs           휠의 tick 간격(ms)
+     * @param wheelSize        휠의 슬롯 수 (2의 거듭제곱으로 올림)
+     */
+    @SuppressWarnings("unchecked")
+    public HeartbeatWheel(MeterRegistry meterRegistry,
+                          @Value("${websocket.heartbeat.enabled:true}") boolean enabled,
+                          @Value("${websocket.heartbeat.server-interval-ms:10000}") long serverIntervalMs,
+                          @Value("${websocket.heartbeat.client-interval-ms:10000}") long clientIntervalMs,
+                          @Value("${websocket.heartbeat.missed-heartbeats:3}") int missedHeartbeats,
+                          @Value("${websocket.heartbeat.connect-timeout-ms:30000}") long connectTimeoutMs,
+                          @Value("${websocket.heartbeat.wheel.tick-ms:500}") long tickMs,
+                          @Value("${websocket.heartbeat.wheel.size:512}") int wheelSize) {
+        this.enabled = enabled;
+        this.serverIntervalMs = serverIntervalMs;
+        this.clientIntervalMs = clientIntervalMs;
+        this.missedHeartbeats = Math.max(1, missedHeartbeats);
+        this.connectTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(connectTimeoutMs);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, tickMs));
+
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.wheel = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+
+        this.heartbeatsSent = Counter.builder("websocket.heartbeat.sent")
+                .description("STOMP heartbeat frames sent to idle sessions")
+                .register(meterRegistry);
+        this.reapedHeartbeat = Counter.builder("websocket.session.reaped")
+                .description("Sessions closed by the idle reaper")
+                .tag("reason", "heartbeat-timeout")
+                .register(meterRegistry);
+        this.reapedConnect = Counter.builder("websocket.session.reaped")
+                .description("Sessions closed by the idle reaper")
+                .tag("reason", "connect-timeout")
+                .register(meterRegistry);
+        Gauge.builder("websocket.heartbeat.sessions", entries, Map::size)
+                .description("Sessions tracked by the heartbeat timing wheel")
+                .register(meterRegistry);
+
+        // 죽은 연결의 종료는 close 프레임 전송이 지연될 수 있으므로 tick 스레드가 아닌 별도 실행기에서 수행함
+        this.reaper = new ThreadPoolTaskExecutor();
+        this.reaper.setCorePoolSize(2);
+        this.reaper.setThreadNamePrefix("session-reaper-");
+        this.reaper.initialize();
+
+        this.ticker = new ThreadPoolTaskScheduler();
+        this.ticker.setPoolSize(1);
+        this.ticker.setThreadNamePrefix("heartbeat-wheel-");
+        this.ticker.initialize();
+        if (enabled) {
+            this.ticker.scheduleAtFixedRate(this::tick, Math.max(1L, tickMs));
+        }
+    }
+
+    /**
+     * 클라이언트에게 알릴 서버의 하트비트 설정 (CONNECTED 프레임의 heart-beat 헤더).
+     *
+     * @return {서버 전송 간격, 클라이언트에게 요구하는 간격}, 사용하지 않으면 null
+     */
+    public long[] advertisedHeartbeat() {
+        return enabled ? new long[]{serverIntervalMs, clientIntervalMs} : null;
+    }
+
+    /**
+     * 새 세션을 휠에 등록함. CONNECT 전까지는 connect-timeout 안에 프레임이 오지 않으면 종료함.
+     *
+     * @param session 송신 버퍼가 적용된 세션
+     */
+    public void track(BufferedOutboundSession session) {
+        if (!enabled) {
+            return;
+        }
+        Entry entry = new Entry(session, connectTimeoutNanos);
+        entries.put(session.getId(), entry);
+        // 협상된 전송 간격은 serverIntervalMs 이상이므로, 그 전에 한 번 확인하면 첫 하트비트가 늦지 않음
+        long firstCheckNanos = serverIntervalMs > 0
+                ? Math.min(connectTimeoutNanos, TimeUnit.MILLISECONDS.toNanos(serverIntervalMs))
+                : connectTimeoutNanos;
+        schedule(entry, firstCheckNanos);
+    }
+
+    /**
+     * STOMP CONNECT의 heart-beat 헤더로 세션의 하트비트 간격을 정함 (STOMP 1.2 협상 규칙).
+     *
+     * @param sessionId       세션 ID
+     * @param clientHeartbeat 클라이언트가 보낸 {전송 가능 간격, 희망 수신 간격}
+     */
+    public void negotiate(String sessionId, long[] clientHeartbeat) {
+        Entry entry = entries.get(sessionId);
+        if (entry == null) {
+            return;
+        }
+        long cx = clientHeartbeat != null && clientHeartbeat.length == 2 ? clientHeartbeat[0] : 0;
+        long cy = clientHeartbeat != null && clientHeartbeat.length == 2 ? clientHeartbeat[1] : 0;
+        long sendMs = serverIntervalMs > 0 && cy > 0 ? Math.max(serverIntervalMs, cy) : 0;
+        long readMs = clientIntervalMs > 0 && cx > 0 ? Math.max(clientIntervalMs, cx) : 0;
+        entry.writeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(sendMs);
+        entry.readTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(readMs) * missedHeartbeats;
+        entry.connected = true;
+        entry.lastReadNanos = System.nanoTime();
+    }
+
+    /**
+     * 세션에서 프레임(하트비트 포함)을 받았음을 기록함.
+     *
+     * @param sessionId 세션 ID
+     */
+    public void onRead(String sessionId) {
+        Entry entry = entries.get(sessionId);
+        if (entry != null) {
+            entry.lastReadNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * 종료된 세션을 휠에서 제거함. 슬롯에 남은 항목은 다음 확인 시 버려짐.
+     *
+     * @param sessionId 세션 ID
+     */
+    public void untrack(String sessionId) {
+        Entry entry = entries.remove(sessionId);
+        if (entry != null) {
+            entry.cancelled = true;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ticker.shutdown();
+        reaper.shutdown();
+    }
+
+    private void tick() {
+        long tick = currentTick + 1;
+        currentTick = tick;
+        Queue<Entry> slot = wheel[(int) (tick & mask)];
+        long now = System.nanoTime();
+        // 처리 중 다시 같은 슬롯에 예약되는 항목은 다음 바퀴에 확인하도록 현재 개수만큼만 꺼냄
+        for (int remaining = slot.size(); remaining > 0; remaining--) {
+            Entry entry = slot.poll();
+            if (entry == null) {
+                break;
+            }
+            if (entry.cancelled) {
+                continue;
+            }
+            if (entry.deadlineTick > tick) {
+                slot.offer(entry);
+                continue;
+            }
+            try {
+                check(entry, now);
+            } catch (Exception e) {
+                logger.error("Failed to check heartbeat of session {}. Error: {}", entry.session.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void check(Entry entry, long now) {
+        BufferedOutboundSession session = entry.session;
+        if (!session.isOpen()) {
+            untrack(session.getId());
+            return;
+        }
+
+        long next = Long.MAX_VALUE;
+        if (entry.readTimeoutNanos > 0) {
+            long idle = now - entry.lastReadNanos;
+            if (idle >= entry.readTimeoutNanos) {
+                reap(entry);
+                return;
+            }
+            next = entry.readTimeoutNanos - idle;
+        }
+        if (entry.writeIntervalNanos > 0) {
+            long sinceWrite = now - session.getLastSentNanos();
+            if (sinceWrite >= entry.writeIntervalNanos) {
+                sendHeartbeat(session);
+                next = Math.min(next, entry.writeIntervalNanos);
+            } else {
+                next = Math.min(next, entry.writeIntervalNanos - sinceWrite);
+            }
+        }
+        // 하트비트를 협상하지 않은 세션은 더 확인할 필요가 없으므로 다시 예약하지 않음
+        if (next != Long.MAX_VALUE) {
+            schedule(entry, next);
+        }
+    }
+
+    private void sendHeartbeat(BufferedOutboundSession session) {
+        try {
+            session.sendMessage(HEARTBEAT);
+            heartbeatsSent.increment();
+        } catch (Exception e) {
+            logger.debug("Failed to send heartbeat to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private void reap(Entry entry) {
+        untrack(entry.session.getId());
+        (entry.connected ? reapedHeartbeat : reapedConnect).increment();
+        logger.info("Reaping idle session {} (no frames for {} ms).", entry.session.getId(),
+                TimeUnit.NANOSECONDS.toMillis(entry.readTimeoutNanos));
+        reaper.execute(() -> {
+            try {
+                entry.session.close(REAP_CLOSE_STATUS);
+            } catch (Exception e) {
+                logger.debug("Failed to close idle session {}: {}", entry.session.getId(), e.getMessage());
+            }
+        });
+    }
+
+    private void schedule(Entry entry, long delayNanos) {
+        long ticks = Math.max(1L, (delayNanos + tickNanos - 1) / tickNanos);
+        long deadline = currentTick + ticks;
+        entry.deadlineTick = deadline;
+        wheel[(int) (deadline & mask)].offer(entry);
+    }
+
+    private static final class Entry {
+
+        private final BufferedOutboundSession session;
+        private volatile long lastReadNanos = System.nanoTime();
+        private volatile long readTimeoutNanos;   // 0이면 수신 기한 없음
+        private volatile long writeIntervalNanos; // 0이면 하트비트를 보내지 않음
+        private volatile boolean connected;
+        private volatile boolean cancelled;
+        private volatile long deadlineTick;
+
+        private Entry(BufferedOutboundSession session, long readTimeoutNanos) {
+            this.session = session;
+            this.readTimeoutNanos = readTimeoutNanos;
+        }
+    }
+}
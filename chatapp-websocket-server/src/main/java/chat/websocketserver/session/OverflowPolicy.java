@@ -0,0 +1,16 @@
+package chat.websocketserver.session;
+
+/**
+ * 세션별 송신 버퍼가 가득 찼을 때의 처리 방식.
+ */
+public enum OverflowPolicy {
+
+    /** 가장 오래된 대기 프레임을 버리고 새 프레임을 추가함 */
+    DROP_OLDEST,
+
+    /** 새 프레임을 버림 */
+    DROP_NEWEST,
+
+    /** 세션 연결을 끊음 */
+    DISCONNECT
+}
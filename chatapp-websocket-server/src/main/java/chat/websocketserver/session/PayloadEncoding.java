@@ -0,0 +1,13 @@
+package chat.websocketserver.session;
+
+/**
+ * 연결별로 협상되는 브로드캐스트 페이로드 인코딩.
+ */
+public enum PayloadEncoding {
+
+    /** JSON 텍스트 (기본) */
+    JSON,
+
+    /** CBOR 바이너리. 순수 WebSocket 연결에서만 사용 가능 */
+    CBOR
+}
@@ -0,0 +1,148 @@
+package chat.websocketserver.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 연결별 페이로드 인코딩을 협상하고, CBOR를 요청한 세션에 보내는 JSON 페이로드를 CBOR로 변환하는 채널 인터셉터.
+ * 클라이언트는 CONNECT 프레임에 "payload-encoding: cbor" 헤더를 보내 CBOR를 요청하며, 요청하지 않으면 JSON을 유지함.
+ * SockJS 연결은 텍스트 프레임만 전송할 수 있으므로 항상 JSON으로 협상됨.
+ * CBOR 프레임은 바이너리 WebSocket 프레임으로 전송되도록 content-type을 application/octet-stream으로 지정하고,
+ * 실제 인코딩은 "payload-encoding: cbor" 헤더로 알림.
+ * 브로드캐스트 페이로드는 모든 세션이 같은 배열을 공유하므로 변환 결과를 페이로드 단위로 캐시하여 한 번만 변환함.
+ */
+@Component
+public class PayloadEncodingInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadEncodingInterceptor.class);
+
+    public static final String PAYLOAD_ENCODING_HEADER = "payload-encoding";
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    // 세션 ID -> 협상된 인코딩. JSON 세션은 보관하지 않음
+    private final Map<String, PayloadEncoding> sessionEncodings = new ConcurrentHashMap<>();
+
+    // 원본 JSON 페이로드(동일성 비교) -> CBOR 페이로드. 브로드캐스트가 끝나 원본이 수거되면 함께 제거됨
+    private final Cache<byte[], byte[]> transcoded = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(1024)
+            .build();
+
+    private final Counter cborSessions;
+    private final Counter transcodedFrames;
+
+    public PayloadEncodingInterceptor(MeterRegistry meterRegistry) {
+        this.cborSessions = Counter.builder("websocket.payload.encoding.negotiated")
+                .description("Sessions that negotiated CBOR payloads")
+                .tag("encoding", "cbor")
+                .register(meterRegistry);
+        this.transcodedFrames = Counter.builder("websocket.payload.encoding.transcoded")
+                .description("Broadcast payloads converted from JSON to CBOR (once per payload, not per session)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        if (SimpMessageType.CONNECT.equals(messageType)) {
+            negotiate(message);
+            return message;
+        }
+        if (SimpMessageType.MESSAGE.equals(messageType)) {
+            return encode(message);
+        }
+        return message;
+    }
+
+    /**
+     * 세션이 종료되면 협상된 인코딩을 제거함.
+     *
+     * @param event 세션 종료 이벤트
+     */
+    @EventListener
+    public void handleSessionDisconnect(SessionDisconnectEvent event) {
+        sessionEncodings.remove(event.getSessionId());
+    }
+
+    private void negotiate(Message<?> message) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+        String requested = accessor.getFirstNativeHeader(PAYLOAD_ENCODING_HEADER);
+        if (requested == null || !PayloadEncoding.CBOR.name().equalsIgnoreCase(requested.trim())) {
+            return;
+        }
+        if (SessionTransport.from(accessor.getSessionAttributes()) != SessionTransport.NATIVE) {
+            logger.debug("Session {} requested CBOR over SockJS. Falling back to JSON.", accessor.getSessionId());
+            return;
+        }
+        sessionEncodings.put(accessor.getSessionId(), PayloadEncoding.CBOR);
+        cborSessions.increment();
+    }
+
+    private Message<?> encode(Message<?> message) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null || sessionEncodings.get(sessionId) != PayloadEncoding.CBOR
+                || !(message.getPayload() instanceof byte[])) {
+            return message;
+        }
+        MimeType contentType = contentTypeOf(message);
+        if (contentType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return message;
+        }
+
+        byte[] json = (byte[]) message.getPayload();
+        byte[] cbor = transcoded.get(json, this::toCbor);
+        if (cbor == null) {
+            return message;
+        }
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setNativeHeader(PAYLOAD_ENCODING_HEADER, PayloadEncoding.CBOR.name().toLowerCase(Locale.ROOT));
+        return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+    }
+
+    private static MimeType contentTypeOf(Message<?> message) {
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        if (contentType instanceof MimeType) {
+            return (MimeType) contentType;
+        }
+        return contentType instanceof String ? MimeTypeUtils.parseMimeType((String) contentType) : null;
+    }
+
+    private byte[] toCbor(byte[] json) {
+        try {
+            byte[] cbor = cborMapper.writeValueAsBytes(jsonMapper.readTree(json));
+            transcodedFrames.increment();
+            return cbor;
+        } catch (IOException e) {
+            logger.warn("Failed to convert payload to CBOR. Sending JSON instead. Error: {}", e.getMessage());
+            return null;
+        }
+    }
+}
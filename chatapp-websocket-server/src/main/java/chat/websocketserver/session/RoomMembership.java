@@ -0,0 +1,97 @@
+package chat.websocketserver.session;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 하나의 STOMP 세션이 구독 중인 채팅방 목록.
+ * 연결 하나로 여러 채팅방을 구독할 수 있으며, 채팅방 토픽("/topic/chatroom-{roomId}") 구독 단위로 참여 여부를 관리함.
+ * 같은 채팅방을 여러 번 구독해도 첫 구독에서만 참여하고 마지막 구독이 해제될 때만 퇴장함.
+ * 세션 속성에 보관되며, 같은 세션의 프레임은 여러 스레드에서 처리될 수 있으므로 모든 접근을 동기화함.
+ */
+public final class RoomMembership {
+
+    public static final String ATTRIBUTE = "rooms";
+
+    // 핸드셰이크에서 지정된 기본 채팅방 (이전 방식의 단일 채팅방 연결)
+    private static final String BOUND_ROOM_ATTRIBUTE = "roomId";
+
+    // 구독 ID -> 채팅방 ID
+    private final Map<String, Long> subscriptions = new HashMap<>();
+
+    /**
+     * 세션 속성에서 채팅방 목록을 가져오거나 새로 만듦.
+     *
+     * @param sessionAttributes 세션 속성
+     * @return 세션의 채팅방 목록
+     */
+    public static RoomMembership of(Map<String, Object> sessionAttributes) {
+        return (RoomMembership) sessionAttributes.computeIfAbsent(ATTRIBUTE, key -> new RoomMembership());
+    }
+
+    /**
+     * 메시지를 보낼 채팅방을 결정함.
+     * room-id 헤더로 채팅방을 지정하지 않았으면 핸드셰이크에서 지정된 기본 채팅방을 사용함.
+     * 어느 쪽이든 이 세션이 구독 중인(RoomSubscriptionInterceptor가 승인한) 채팅방일 때만 허용함.
+     * 기본 채팅방은 핸드셰이크에서 검증되지 않으므로 구독 없이 그 채팅방으로 보낼 수 없어야 함.
+     *
+     * @param sessionAttributes 세션 속성
+     * @param requestedRoomId   클라이언트가 지정한 채팅방 ID (없으면 null)
+     * @return 채팅방 ID, 허용되지 않거나 정할 수 없으면 null
+     */
+    public static Long resolveRoom(Map<String, Object> sessionAttributes, Long requestedRoomId) {
+        Long roomId = requestedRoomId != null ? requestedRoomId : (Long) sessionAttributes.get(BOUND_ROOM_ATTRIBUTE);
+        if (roomId == null) {
+            return null;
+        }
+        return of(sessionAttributes).contains(roomId) ? roomId : null;
+    }
+
+    /**
+     * 채팅방 토픽 구독을 기록함.
+     *
+     * @param subscriptionId 구독 ID
+     * @param roomId         채팅방 ID
+     * @return 이 세션에서 해당 채팅방의 첫 구독이면 true (참여 처리 필요)
+     */
+    public synchronized boolean add(String subscriptionId, Long roomId) {
+        boolean first = !subscriptions.containsValue(roomId);
+        subscriptions.put(subscriptionId, roomId);
+        return first;
+    }
+
+    /**
+     * 구독 해제를 기록함.
+     *
+     * @param subscriptionId 구독 ID
+     * @return 해당 채팅방의 마지막 구독이 해제되었으면 채팅방 ID (퇴장 처리 필요), 아니면 null
+     */
+    public synchronized Long remove(String subscriptionId) {
+        Long roomId = subscriptions.remove(subscriptionId);
+        if (roomId == null || subscriptions.containsValue(roomId)) {
+            return null;
+        }
+        return roomId;
+    }
+
+    /**
+     * 세션 종료 시 모든 구독을 해제함.
+     *
+     * @return 구독 중이던 채팅방 ID 목록
+     */
+    public synchronized Set<Long> clear() {
+        Set<Long> rooms = new HashSet<>(subscriptions.values());
+        subscriptions.clear();
+        return rooms;
+    }
+
+    public synchronized boolean contains(Long roomId) {
+        return subscriptions.containsValue(roomId);
+    }
+
+    public synchronized int roomCount() {
+        return new HashSet<>(subscriptions.values()).size();
+    }
+}
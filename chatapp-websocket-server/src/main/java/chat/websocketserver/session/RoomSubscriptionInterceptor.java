@@ -0,0 +1,95 @@
+package chat.websocketserver.session;
+
+import chat.websocketserver.broker.RoomDestinations;
+import chat.websocketserver.service.MessagePublisher;
+import chat.websocketserver.service.RoomAccessService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * 채팅방 구독을 승인하는 인바운드 채널 인터셉터.
+ * 하나의 연결에서 여러 채팅방을 동적으로 구독할 수 있으므로, 채팅방 목적지("/topic/chatroom-{roomId}...",
+ * "/app/chatroom-{roomId}...")에 대한 SUBSCRIBE마다 인증된 사용자인지, 채팅방이 존재하는지,
+ * 세션당 채팅방 수 한도를 넘지 않는지 확인함.
+ * 거부된 구독은 브로커에 전달하지 않으며(구독 이벤트도 발생하지 않음), 전송자 세션에 FORBIDDEN 오류를 보냄.
+ */
+@Component
+public class RoomSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomSubscriptionInterceptor.class);
+
+    private static final String TOPIC_PREFIX = "/topic/chatroom-";
+    private static final String APP_PREFIX = "/app/chatroom-";
+
+    private final RoomAccessService roomAccessService;
+    // MessagePublisher -> SimpMessagingTemplate -> 채널 설정 순환 참조를 피하기 위해 지연 조회함
+    private final ObjectProvider<MessagePublisher> messagePublisher;
+    private final int maxRoomsPerSession;
+
+    /**
+     * 생성자 주입을 통해 의존성과 설정 값을 주입받음.
+     *
+     * @param roomAccessService  채팅방 구독 허용 여부 확인 서비스
+     * @param messagePublisher   거부 사유를 전송자 세션에 보내는 서비스
+     * @param maxRoomsPerSession 세션 하나가 동시에 구독할 수 있는 최대 채팅방 수
+     */
+    public RoomSubscriptionInterceptor(RoomAccessService roomAccessService,
+                                       ObjectProvider<MessagePublisher> messagePublisher,
+                                       @Value("${websocket.rooms.max-per-session:50}") int maxRoomsPerSession) {
+        this.roomAccessService = roomAccessService;
+        this.messagePublisher = messagePublisher;
+        this.maxRoomsPerSession = maxRoomsPerSession;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (!SimpMessageType.SUBSCRIBE.equals(SimpMessageHeaderAccessor.getMessageType(message.getHeaders()))) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null
+                || !(destination.startsWith(TOPIC_PREFIX) || destination.startsWith(APP_PREFIX))) {
+            return message;
+        }
+
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        Map<String, Object> sessionAttributes = SimpMessageHeaderAccessor.getSessionAttributes(message.getHeaders());
+        // "/app/chatroom-..."도 같은 규칙으로 채팅방 ID를 추출함
+        Long roomId = RoomDestinations.extractRoomId(destination.startsWith(APP_PREFIX)
+                ? TOPIC_PREFIX + destination.substring(APP_PREFIX.length()) : destination);
+
+        String reason = null;
+        if (roomId == null) {
+            // 와일드카드 등 여러 채팅방을 한 번에 구독하는 목적지는 허용하지 않음
+            reason = "채팅방 목적지를 확인할 수 없습니다.";
+        } else if (sessionAttributes == null || sessionAttributes.get("userId") == null) {
+            reason = "인증되지 않은 세션입니다.";
+        } else if (!withinLimit(sessionAttributes, roomId)) {
+            reason = "동시에 구독할 수 있는 채팅방은 최대 " + maxRoomsPerSession + "개입니다.";
+        } else if (!roomAccessService.canAccess(roomId)) {
+            reason = "채팅방에 접근할 수 없습니다.";
+        }
+
+        if (reason == null) {
+            return message;
+        }
+        logger.warn("Rejected SUBSCRIBE to {} from session {}: {}", destination, sessionId, reason);
+        messagePublisher.getObject().reject(sessionId, null, roomId, "FORBIDDEN", reason);
+        return null;
+    }
+
+    private boolean withinLimit(Map<String, Object> sessionAttributes, Long roomId) {
+        RoomMembership membership = RoomMembership.of(sessionAttributes);
+        return membership.contains(roomId) || membership.roomCount() < maxRoomsPerSession;
+    }
+}
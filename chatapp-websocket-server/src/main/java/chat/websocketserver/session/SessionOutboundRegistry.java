@@ -0,0 +1,301 @@
+package chat.websocketserver.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 이 노드에 연결된 세션들의 송신 버퍼를 관리하고 메트릭을 노출하는 컴포넌트.
+ * 대기 프레임 수, 버려진 프레임 수, 연결 해제 수를 노드 단위로 집계하며, 가장 느린 세션 목록을 제공함.
+ * 주기적으로 모든 세션을 점검하여 느린 세션을 저하 모드로 전환하고, 저하 모드 세션에 요약 프레임을 보냄.
+ * 별도 주기로 전송 제한 시간을 넘긴 세션을 종료하여 멈춘 클라이언트가 플러시 스레드를 붙잡지 않도록 함.
+ */
+@Component
+public class SessionOutboundRegistry implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionOutboundRegistry.class);
+
+    private final int bufferLimit;
+    private final OverflowPolicy overflowPolicy;
+    private final long degradeBufferedBytes;
+    private final long degradeSendTimeMs;
+    private final long sendTimeLimitMs;
+    private final long sendBufferSizeLimit;
+
+    private final Map<String, BufferedOutboundSession> sessions = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor flushExecutor;
+    private final ThreadPoolTaskScheduler summaryScheduler;
+    private final ThreadPoolTaskExecutor closeExecutor;
+
+    private final Map<OverflowPolicy, Counter> droppedCounters = new EnumMap<>(OverflowPolicy.class);
+    private final Counter disconnects;
+    private final Counter degradations;
+    private final Counter recoveries;
+    private final Counter summarizedFrames;
+    private final Counter sendTimeouts;
+    private final Counter flushRejections;
+
+    /**
+     * 생성자 주입을 통해 설정 값을 주입받음.
+     *
+     * @param meterRegistry  메트릭 레지스트리
+     * @param bufferLimit    세션당 최대 대기 프레임 수
+     * @param overflowPolicy 버퍼 초과 시 처리 방식
+     * @param flushThreads   세션 버퍼를 비우는 스레드 수
+     * @param flushQueueCapacity   플러시 작업 대기 큐 크기
+     * @param sendTimeLimitMs      단일 전송 제한 시간(ms), 넘으면 세션을 종료함
+     * @param sendBufferSizeLimit  세션당 대기 바이트 한도, 넘으면 세션을 종료함
+     * @param watchdogIntervalMs   전송 제한 시간 점검 주기(ms)
+     * @param slowConsumerEnabled  느린 세션을 요약 프레임 모드로 전환할지 여부
+     * @param degradeBufferedBytes 저하 모드로 전환하는 대기 바이트 수
+     * @param degradeSendTimeMs    저하 모드로 전환하는 단일 전송 시간(ms)
+     * @param summaryIntervalMs    느린 세션 점검 및 요약 전송 주기(ms)
+     */
+    public SessionOutboundRegistry(MeterRegistry meterRegistry,
+                                   @Value("${websocket.session.outbound.buffer-limit:256}") int bufferLimit,
+                                   @Value("${websocket.session.outbound.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+                                   @Value("${websocket.session.outbound.flush-threads:8}") int flushThreads,
+                                   @Value("${websocket.session.outbound.flush-queue-capacity:10000}") int flushQueueCapacity,
+                                   @Value("${websocket.session.send-time-limit-ms:10000}") long sendTimeLimitMs,
+                                   @Value("${websocket.session.send-buffer-size-limit:524288}") long sendBufferSizeLimit,
+                                   @Value("${websocket.session.outbound.watchdog-interval-ms:1000}") long watchdogIntervalMs,
+                                   @Value("${websocket.session.slow-consumer.enabled:true}") boolean slowConsumerEnabled,
+                                   @Value("${websocket.session.slow-consumer.buffered-bytes:262144}") long degradeBufferedBytes,
+                                   @Value("${websocket.session.slow-consumer.send-time-ms:2000}") long degradeSendTimeMs,
+                                   @Value("${websocket.session.slow-consumer.summary-interval-ms:5000}") long summaryIntervalMs) {
+        this.bufferLimit = bufferLimit;
+        this.overflowPolicy = overflowPolicy;
+        this.degradeBufferedBytes = slowConsumerEnabled ? degradeBufferedBytes : 0;
+        this.degradeSendTimeMs = slowConsumerEnabled ? degradeSendTimeMs : 0;
+        this.sendTimeLimitMs = sendTimeLimitMs;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+
+        // 세션당 최대 하나의 플러시 작업만 대기함. 큐가 가득 차면 거부된 세션은 다음 점검에서 다시 예약됨
+        this.flushExecutor = new ThreadPoolTaskExecutor();
+        this.flushExecutor.setCorePoolSize(flushThreads);
+        this.flushExecutor.setMaxPoolSize(flushThreads);
+        this.flushExecutor.setQueueCapacity(flushQueueCapacity);
+        this.flushExecutor.setThreadNamePrefix("session-flush-");
+        this.flushExecutor.initialize();
+
+        // 전송이 멈춘 세션을 닫는 실행기. 닫기가 오래 걸려도 점검 주기에 영향을 주지 않도록 분리함
+        this.closeExecutor = new ThreadPoolTaskExecutor();
+        this.closeExecutor.setCorePoolSize(1);
+        this.closeExecutor.setMaxPoolSize(4);
+        this.closeExecutor.setQueueCapacity(flushQueueCapacity);
+        this.closeExecutor.setThreadNamePrefix("session-closer-");
+        this.closeExecutor.initialize();
+
+        this.summaryScheduler = new ThreadPoolTaskScheduler();
+        this.summaryScheduler.setPoolSize(1);
+        this.summaryScheduler.setThreadNamePrefix("session-summary-");
+        this.summaryScheduler.initialize();
+        if (slowConsumerEnabled) {
+            this.summaryScheduler.scheduleWithFixedDelay(this::tickSessions, summaryIntervalMs);
+        }
+        this.summaryScheduler.scheduleWithFixedDelay(this::checkSends, watchdogIntervalMs);
+
+        for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.DROP_OLDEST, OverflowPolicy.DROP_NEWEST}) {
+            droppedCounters.put(policy, Counter.builder("websocket.session.outbound.dropped")
+                    .description("Frames dropped because a session outbound buffer was full")
+                    .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.disconnects = Counter.builder("websocket.session.outbound.disconnects")
+                .description("Sessions disconnected because their outbound buffer was full")
+                .register(meterRegistry);
+        this.degradations = Counter.builder("websocket.session.slow-consumer.degraded")
+                .description("Sessions switched to summary frames because they fell behind")
+                .register(meterRegistry);
+        this.recoveries = Counter.builder("websocket.session.slow-consumer.recovered")
+                .description("Degraded sessions that caught up and returned to live frames")
+                .register(meterRegistry);
+        this.summarizedFrames = Counter.builder("websocket.session.slow-consumer.summarized")
+                .description("Chat message frames replaced by summaries for degraded sessions")
+                .register(meterRegistry);
+        this.sendTimeouts = Counter.builder("websocket.session.outbound.send-timeouts")
+                .description("Sessions disconnected because a single send exceeded the send time limit")
+                .register(meterRegistry);
+        this.flushRejections = Counter.builder("websocket.session.outbound.flush.rejected")
+                .description("Flush tasks rejected because the flush queue was full (retried on the next check)")
+                .register(meterRegistry);
+
+        Gauge.builder("websocket.session.outbound.queued", this, SessionOutboundRegistry::totalQueuedFrames)
+                .description("Frames waiting in session outbound buffers on this node")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.outbound.queued.max", this, SessionOutboundRegistry::maxQueuedFrames)
+                .description("Frames waiting in the most backed-up session outbound buffer on this node")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.outbound.sending.max", this, SessionOutboundRegistry::maxSendingForMillis)
+                .description("Longest in-progress send to a single session in milliseconds")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.outbound.buffered.bytes", this, SessionOutboundRegistry::totalBufferedBytes)
+                .description("Bytes waiting in session outbound buffers on this node")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.slow-consumer.sessions", this, SessionOutboundRegistry::degradedSessions)
+                .description("Sessions currently receiving summary frames instead of live messages")
+                .register(meterRegistry);
+        Gauge.builder("websocket.session.outbound.sessions", sessions, Map::size)
+                .description("Sessions with an outbound buffer on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 세션을 송신 버퍼로 감싸고 등록함.
+     *
+     * @param session 실제 WebSocket 세션
+     * @param meters  세션의 전송 방식별 메트릭
+     * @return 송신 버퍼가 적용된 세션
+     */
+    public BufferedOutboundSession register(WebSocketSession session, TransportMetrics.TransportMeters meters) {
+        BufferedOutboundSession buffered = new BufferedOutboundSession(session, bufferLimit, overflowPolicy,
+                flushExecutor, this, meters, degradeBufferedBytes, degradeSendTimeMs,
+                sendTimeLimitMs, sendBufferSizeLimit);
+        sessions.put(session.getId(), buffered);
+        return buffered;
+    }
+
+    /**
+     * 종료된 세션의 송신 버퍼를 해제함.
+     *
+     * @param sessionId 세션 ID
+     */
+    public void unregister(String sessionId) {
+        BufferedOutboundSession buffered = sessions.remove(sessionId);
+        if (buffered != null) {
+            buffered.release();
+        }
+    }
+
+    /**
+     * 현재 노드에 연결된 세션 목록을 반환함.
+     *
+     * @return 송신 버퍼가 적용된 세션 목록 (스냅샷)
+     */
+    public List<WebSocketSession> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * 대기 프레임 수와 진행 중인 전송 시간을 기준으로 가장 느린 세션 목록을 반환함.
+     *
+     * @param limit 반환할 최대 세션 수
+     * @return 느린 순서로 정렬된 세션 상태 목록
+     */
+    public List<SessionOutboundStats> getSlowestSessions(int limit) {
+        return sessions.values().stream()
+                .map(session -> new SessionOutboundStats(session.getId(), session.getQueuedFrames(),
+                        session.getBufferedBytes(), session.getSendingForMillis(), session.getDroppedFrames(),
+                        session.isDegraded()))
+                .sorted(Comparator.comparingInt(SessionOutboundStats::getQueuedFrames)
+                        .thenComparingLong(SessionOutboundStats::getSendingForMillis)
+                        .reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    void recordDropped(OverflowPolicy policy) {
+        Counter counter = droppedCounters.get(policy);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    void recordDisconnect() {
+        disconnects.increment();
+    }
+
+    void recordDegraded() {
+        degradations.increment();
+    }
+
+    void recordRecovered() {
+        recoveries.increment();
+    }
+
+    void recordSummarized() {
+        summarizedFrames.increment();
+    }
+
+    void recordSendTimeout() {
+        sendTimeouts.increment();
+    }
+
+    void recordFlushRejected() {
+        flushRejections.increment();
+    }
+
+    void closeAsync(Runnable close) {
+        try {
+            closeExecutor.execute(close);
+        } catch (Exception e) {
+            close.run();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        summaryScheduler.shutdown();
+        flushExecutor.shutdown();
+        closeExecutor.shutdown();
+    }
+
+    private void tickSessions() {
+        for (BufferedOutboundSession session : sessions.values()) {
+            try {
+                session.tick();
+            } catch (Exception e) {
+                logger.error("Failed to check outbound buffer of session {}. Error: {}", session.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void checkSends() {
+        for (BufferedOutboundSession session : sessions.values()) {
+            try {
+                session.checkSend();
+            } catch (Exception e) {
+                logger.error("Failed to check send of session {}. Error: {}", session.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private double totalQueuedFrames() {
+        return sessions.values().stream().mapToInt(BufferedOutboundSession::getQueuedFrames).sum();
+    }
+
+    private double totalBufferedBytes() {
+        return sessions.values().stream().mapToLong(BufferedOutboundSession::getBufferedBytes).sum();
+    }
+
+    private double degradedSessions() {
+        return sessions.values().stream().filter(BufferedOutboundSession::isDegraded).count();
+    }
+
+    private double maxQueuedFrames() {
+        return sessions.values().stream().mapToInt(BufferedOutboundSession::getQueuedFrames).max().orElse(0);
+    }
+
+    private double maxSendingForMillis() {
+        return sessions.values().stream().mapToLong(BufferedOutboundSession::getSendingForMillis).max().orElse(0);
+    }
+}
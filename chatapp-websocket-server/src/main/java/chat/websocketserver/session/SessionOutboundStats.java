@@ -0,0 +1,20 @@
+package chat.websocketserver.session;
+
+import lombok.*;
+
+/**
+ * 세션 하나의 송신 버퍼 상태. 느린 세션 조회 엔드포인트의 응답으로 사용됨.
+ */
+@Data
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SessionOutboundStats {
+    private String sessionId;
+    private int queuedFrames;      // 전송 대기 중인 프레임 수
+    private long bufferedBytes;    // 전송 대기 중인 프레임의 총 바이트 수
+    private long sendingForMillis; // 현재 진행 중인 전송이 걸리고 있는 시간 (전송 중이 아니면 0)
+    private long droppedFrames;    // 버퍼 초과로 버려진 프레임 수
+    private boolean degraded;      // 요약 프레임만 받는 저하 모드 여부
+}
@@ -0,0 +1,38 @@
+package chat.websocketserver.session;
+
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.util.Map;
+
+/**
+ * 세션이 연결된 전송 방식. SockJS 세션은 텍스트 프레임만 전송할 수 있음.
+ */
+public enum SessionTransport {
+
+    /** 순수 WebSocket 연결 */
+    NATIVE,
+
+    /** SockJS 연결 (WebSocket 또는 HTTP 폴백 전송) */
+    SOCKJS;
+
+    /** 세션 속성(simpSessionAttributes)에 전송 방식을 저장하는 키 */
+    public static final String ATTRIBUTE = SessionTransport.class.getName();
+
+    /**
+     * @param session WebSocket 세션
+     * @return 세션의 전송 방식
+     */
+    public static SessionTransport of(WebSocketSession session) {
+        return session instanceof SockJsSession ? SOCKJS : NATIVE;
+    }
+
+    /**
+     * @param sessionAttributes 세션 속성
+     * @return 저장된 전송 방식, 없으면 SOCKJS
+     */
+    public static SessionTransport from(Map<String, Object> sessionAttributes) {
+        Object transport = sessionAttributes != null ? sessionAttributes.get(ATTRIBUTE) : null;
+        return transport instanceof SessionTransport ? (SessionTransport) transport : SOCKJS;
+    }
+}
@@ -0,0 +1,33 @@
+package chat.websocketserver.session;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 이 노드에서 가장 느린 세션 목록을 조회하는 actuator 엔드포인트 (/actuator/slowsessions).
+ */
+@Component
+@Endpoint(id = "slowsessions")
+public class SlowSessionsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final SessionOutboundRegistry sessionOutboundRegistry;
+
+    public SlowSessionsEndpoint(SessionOutboundRegistry sessionOutboundRegistry) {
+        this.sessionOutboundRegistry = sessionOutboundRegistry;
+    }
+
+    /**
+     * @param limit 반환할 최대 세션 수 (기본 10)
+     * @return 느린 순서로 정렬된 세션 상태 목록
+     */
+    @ReadOperation
+    public List<SessionOutboundStats> slowestSessions(@Nullable Integer limit) {
+        return sessionOutboundRegistry.getSlowestSessions(limit != null ? limit : DEFAULT_LIMIT);
+    }
+}
@@ -0,0 +1,161 @@
+package chat.websocketserver.session;
+
+import chat.websocketserver.broker.RoomDestinations;
+import chat.websocketserver.model.MessageSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 세션 계층에서 인코딩된 STOMP 프레임을 다루는 유틸리티 클래스.
+ * 채팅 메시지 프레임을 식별하고, 느린 세션에 보낼 요약 프레임을 생성함.
+ * 협상된 페이로드 인코딩(JSON 텍스트 프레임, CBOR 바이너리 프레임)을 모두 다룸.
+ */
+final class StompFrames {
+
+    private static final String MESSAGE_COMMAND = "MESSAGE\n";
+    private static final String SUMMARY_TYPE = "SUMMARY";
+    private static final String PAYLOAD_ENCODING_PREFIX = PayloadEncodingInterceptor.PAYLOAD_ENCODING_HEADER + ":";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+    private static final StompEncoder encoder = new StompEncoder();
+    private static final AtomicLong summaryIds = new AtomicLong();
+
+    private StompFrames() {
+    }
+
+    /**
+     * 채팅방 메시지 목적지("/topic/chatroom-{roomId}")로 가는 MESSAGE 프레임이면 구독 정보를 반환함.
+     * JSON 세션의 텍스트 프레임과 CBOR 세션의 바이너리 프레임을 모두 인식함.
+     * 존재 정보, 삭제 알림 등 접미사가 붙은 목적지는 요약 대상이 아니므로 null을 반환함.
+     *
+     * @param message 인코딩된 WebSocket 메시지
+     * @return 채팅 메시지 프레임의 구독 정보, 해당하지 않으면 null
+     */
+    static RoomFrame parseRoomMessage(WebSocketMessage<?> message) {
+        String headers = headerSection(message);
+        if (headers == null || !headers.startsWith(MESSAGE_COMMAND)) {
+            return null;
+        }
+
+        String destination = null;
+        String subscription = null;
+        String payloadEncoding = null;
+        int lineStart = MESSAGE_COMMAND.length();
+        while (lineStart < headers.length()) {
+            int lineEnd = headers.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = headers.length();
+            }
+            if (destination == null && headers.startsWith("destination:", lineStart)) {
+                destination = headers.substring(lineStart + "destination:".length(), lineEnd);
+            } else if (subscription == null && headers.startsWith("subscription:", lineStart)) {
+                subscription = headers.substring(lineStart + "subscription:".length(), lineEnd);
+            } else if (payloadEncoding == null && headers.startsWith(PAYLOAD_ENCODING_PREFIX, lineStart)) {
+                payloadEncoding = headers.substring(lineStart + PAYLOAD_ENCODING_PREFIX.length(), lineEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+
+        Long roomId = RoomDestinations.extractRoomId(destination);
+        if (roomId == null || subscription == null
+                || destination.length() != RoomDestinations.ROOM_DESTINATION_PREFIX.length() + String.valueOf(roomId).length()) {
+            return null;
+        }
+        PayloadEncoding encoding = message instanceof BinaryMessage
+                && PayloadEncoding.CBOR.name().equalsIgnoreCase(payloadEncoding)
+                ? PayloadEncoding.CBOR : PayloadEncoding.JSON;
+        return new RoomFrame(roomId, destination, subscription, encoding);
+    }
+
+    /**
+     * 누락된 메시지 수를 알리는 요약 MESSAGE 프레임을 생성함.
+     * 원래 프레임과 같은 인코딩을 사용함 (CBOR 세션에는 CBOR 페이로드의 바이너리 프레임).
+     *
+     * @param frame        요약 대상 구독 정보
+     * @param missedFrames 누락된 메시지 프레임 수
+     * @param since        첫 누락 프레임 시각 (epoch ms)
+     * @return 인코딩된 요약 프레임
+     */
+    static WebSocketMessage<?> summaryFrame(RoomFrame frame, long missedFrames, long since) {
+        boolean cbor = frame.encoding == PayloadEncoding.CBOR;
+        MessageSummary summary = new MessageSummary(SUMMARY_TYPE, frame.roomId, missedFrames, since);
+        byte[] payload;
+        try {
+            payload = (cbor ? cborMapper : objectMapper).writeValueAsBytes(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize message summary", e);
+        }
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        accessor.setDestination(frame.destination);
+        accessor.setSubscriptionId(frame.subscription);
+        accessor.setMessageId("summary-" + summaryIds.incrementAndGet());
+        if (cbor) {
+            accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            accessor.setNativeHeader(PayloadEncodingInterceptor.PAYLOAD_ENCODING_HEADER,
+                    PayloadEncoding.CBOR.name().toLowerCase(Locale.ROOT));
+        } else {
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        }
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        byte[] encoded = encoder.encode(message);
+        return cbor ? new BinaryMessage(encoded) : new TextMessage(new String(encoded, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 프레임의 명령과 헤더 부분(빈 줄 앞까지)을 문자열로 반환함. 바이너리 프레임은 본문을 복사하지 않음.
+     */
+    private static String headerSection(WebSocketMessage<?> message) {
+        if (message instanceof TextMessage) {
+            String frame = ((TextMessage) message).getPayload();
+            int headersEnd = frame.indexOf("\n\n");
+            return headersEnd < 0 ? null : frame.substring(0, headersEnd);
+        }
+        if (message instanceof BinaryMessage) {
+            ByteBuffer frame = ((BinaryMessage) message).getPayload().duplicate();
+            int start = frame.position();
+            for (int i = start; i + 1 < frame.limit(); i++) {
+                if (frame.get(i) == '\n' && frame.get(i + 1) == '\n') {
+                    byte[] headers = new byte[i - start];
+                    frame.get(headers);
+                    return new String(headers, StandardCharsets.UTF_8);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 채팅 메시지 프레임의 구독 정보.
+     */
+    static final class RoomFrame {
+
+        final Long roomId;
+        final String destination;
+        final String subscription;
+        final PayloadEncoding encoding;
+
+        RoomFrame(Long roomId, String destination, String subscription, PayloadEncoding encoding) {
+            this.roomId = roomId;
+            this.destination = destination;
+            this.subscription = subscription;
+            this.encoding = encoding;
+        }
+    }
+}
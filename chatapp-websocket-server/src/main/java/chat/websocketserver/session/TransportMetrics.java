@@ -0,0 +1,114 @@
+package chat.websocketserver.session;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.WebSocketServerSockJsSession;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 전송 방식별 연결 수와 처리량 메트릭을 관리하는 컴포넌트.
+ * 전송 방식은 native(순수 WebSocket), sockjs-websocket, sockjs-http(스트리밍/폴링 폴백)로 구분함.
+ */
+@Component
+public class TransportMetrics {
+
+    static final String NATIVE = "native";
+    static final String SOCKJS_WEBSOCKET = "sockjs-websocket";
+    static final String SOCKJS_HTTP = "sockjs-http";
+
+    private final Map<String, TransportMeters> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public TransportMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (String transport : new String[]{NATIVE, SOCKJS_WEBSOCKET, SOCKJS_HTTP}) {
+            meters.put(transport, new TransportMeters(transport, meterRegistry));
+        }
+    }
+
+    /**
+     * @param session WebSocket 세션
+     * @return 세션의 전송 방식에 해당하는 메트릭
+     */
+    public TransportMeters metersFor(WebSocketSession session) {
+        return meters.computeIfAbsent(transportOf(session), transport -> new TransportMeters(transport, meterRegistry));
+    }
+
+    private static String transportOf(WebSocketSession session) {
+        if (!(session instanceof SockJsSession)) {
+            return NATIVE;
+        }
+        return session instanceof WebSocketServerSockJsSession ? SOCKJS_WEBSOCKET : SOCKJS_HTTP;
+    }
+
+    /**
+     * 하나의 전송 방식에 대한 연결 수와 송수신 프레임/바이트 메트릭.
+     */
+    public static final class TransportMeters {
+
+        private final AtomicInteger openSessions = new AtomicInteger();
+        private final Counter connections;
+        private final Counter framesReceived;
+        private final Counter bytesReceived;
+        private final Counter framesSent;
+        private final Counter bytesSent;
+
+        private TransportMeters(String transport, MeterRegistry meterRegistry) {
+            this.connections = Counter.builder("websocket.transport.connections")
+                    .description("Sessions established per transport")
+                    .tag("transport", transport)
+                    .register(meterRegistry);
+            Gauge.builder("websocket.transport.sessions", openSessions, AtomicInteger::get)
+                    .description("Open sessions per transport")
+                    .tag("transport", transport)
+                    .register(meterRegistry);
+            this.framesReceived = frames(meterRegistry, transport, "inbound");
+            this.bytesReceived = bytes(meterRegistry, transport, "inbound");
+            this.framesSent = frames(meterRegistry, transport, "outbound");
+            this.bytesSent = bytes(meterRegistry, transport, "outbound");
+        }
+
+        void recordOpened() {
+            connections.increment();
+            openSessions.incrementAndGet();
+        }
+
+        void recordClosed() {
+            openSessions.decrementAndGet();
+        }
+
+        void recordReceived(int bytes) {
+            framesReceived.increment();
+            bytesReceived.increment(bytes);
+        }
+
+        void recordSent(int bytes) {
+            framesSent.increment();
+            bytesSent.increment(bytes);
+        }
+
+        private static Counter frames(MeterRegistry meterRegistry, String transport, String direction) {
+            return Counter.builder("websocket.transport.frames")
+                    .description("WebSocket messages per transport and direction")
+                    .tag("transport", transport)
+                    .tag("direction", direction)
+                    .register(meterRegistry);
+        }
+
+        private static Counter bytes(MeterRegistry meterRegistry, String transport, String direction) {
+            return Counter.builder("websocket.transport.bytes")
+                    .description("WebSocket payload bytes per transport and direction")
+                    .tag("transport", transport)
+                    .tag("direction", direction)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package chat.websocketserver.util;
 
+import chat.common.token.TokenRevocationRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,8 +16,14 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -26,10 +38,45 @@ public class JwtTokenProvider {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
     private SecretKey key;
 
-    public JwtTokenProvider(RedisTemplate<String, Object> redisTemplate) {
+    // 토큰 해시 -> 검증된 클레임. 각 항목은 토큰 만료 시각에 제거됨
+    private final Cache<String, VerifiedClaims> claimsCache;
+
+    private final long revocationCheckIntervalMillis;
+
+    public JwtTokenProvider(RedisTemplate<String, Object> redisTemplate,
+                            TokenRevocationRegistry tokenRevocationRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${jwt.claims-cache.maximum-size:100000}") long maximumSize,
+                            @Value("${jwt.claims-cache.revocation-check-seconds:30}") long revocationCheckSeconds) {
         this.redisTemplate = redisTemplate;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+        this.revocationCheckIntervalMillis = revocationCheckSeconds * 1000;
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedClaims value, long currentTime) {
+                        long remainingMillis = value.getExpiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedClaims value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, claimsCache, "jwt-claims");
     }
 
     @PostConstruct
@@ -52,6 +99,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // 폐기 목록에서 토큰을 식별하기 위한 jti
                 .setIssuedAt(now)
                 .setExpiration(expiry)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -59,15 +107,28 @@ public class JwtTokenProvider {
     }
 
     // JWT 토큰 검증 (동기 방식)
+    // 검증된 클레임은 토큰 해시를 키로 만료 시각까지 캐시됨.
+    // jti가 있는 토큰은 메모리 내 폐기 목록으로만 확인하므로 네트워크 호출이 없으며,
+    // jti가 없는 이전 토큰은 Redis 토큰 존재 여부(로그아웃 여부)를 설정된 주기마다 다시 확인함
     public boolean validateToken(String token) {
         try {
-            logger.info("Validating token: {}", token);
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            logger.info("Token parsed successfully.");
+            VerifiedClaims claims = resolveClaims(token);
+            if (claims.getJti() != null) {
+                return !tokenRevocationRegistry.isRevoked(claims.getJti());
+            }
+            long now = System.currentTimeMillis();
+            if (now - claims.getRevocationCheckedAtMillis() < revocationCheckIntervalMillis) {
+                return true;
+            }
             // Redis에 토큰이 저장되어 있는지 확인 (동기 방식)
             Boolean hasKey = redisTemplate.hasKey(token);
             logger.info("Token exists in Redis: {}", hasKey);
-            return hasKey != null && hasKey;
+            if (hasKey == null || !hasKey) {
+                claimsCache.invalidate(hashToken(token));
+                return false;
+            }
+            claims.setRevocationCheckedAtMillis(now);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             logger.error("Token validation failed: {}", e.getMessage());
             return false;
@@ -76,22 +137,42 @@ public class JwtTokenProvider {
 
     // 토큰에서 사용자명 추출
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return resolveClaims(token).getUsername();
     }
 
     // 토큰에서 사용자 ID 추출
     public Long getUserId(String token) {
-        Object userId = Jwts.parserBuilder()
+        return resolveClaims(token).getUserId();
+    }
+
+    // 캐시된 클레임을 반환하거나, 없으면 서명을 검증하고 캐시에 저장함.
+    // Redis 확인은 validateToken에서 수행하므로 새로 검증한 클레임은 확인 시각 0으로 저장함
+    private VerifiedClaims resolveClaims(String token) {
+        String tokenHash = hashToken(token);
+        VerifiedClaims cached = claimsCache.getIfPresent(tokenHash);
+        if (cached != null && cached.getExpiresAtMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        logger.info("Validating token: {}", token);
+        Claims body = Jwts.parserBuilder()
                 .setSigningKey(key)
                 .build()
                 .parseClaimsJws(token)
-                .getBody()
-                .get("userId");
+                .getBody();
+        logger.info("Token parsed successfully.");
+
+        Date expiration = body.getExpiration();
+        long expiresAtMillis = expiration != null
+                ? expiration.getTime()
+                : System.currentTimeMillis() + validityInMinutes * 60 * 1000;
+        VerifiedClaims claims = new VerifiedClaims(body.getSubject(), toUserId(body.get("userId")), body.getId(),
+                expiresAtMillis, 0L);
+        claimsCache.put(tokenHash, claims);
+        return claims;
+    }
+
+    private Long toUserId(Object userId) {
         if (userId instanceof Integer) {
             return ((Integer) userId).longValue();
         } else if (userId instanceof Long) {
@@ -100,6 +181,16 @@ public class JwtTokenProvider {
         return null;
     }
 
+    // 원본 토큰을 메모리에 보관하지 않도록 SHA-256 해시를 캐시 키로 사용함
+    private static String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     // Redis에 토큰 저장 (동기 방식)
     public void storeToken(String token, Long userId) {
         redisTemplate.opsForValue().set(token, userId, Duration.ofMinutes(validityInMinutes));
@@ -107,6 +198,7 @@ public class JwtTokenProvider {
 
     // 토큰 무효화 (동기 방식)
     public boolean invalidateToken(String token) {
+        claimsCache.invalidate(hashToken(token));
         Boolean deleted = redisTemplate.delete(token);
         return deleted != null && deleted;
     }
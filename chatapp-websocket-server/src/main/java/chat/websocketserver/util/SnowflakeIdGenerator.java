@@ -0,0 +1,233 @@
+package chat.websocketserver.util;
+
+import chat.websocketserver.config.InstanceIdentity;
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.netflix.eureka.EurekaInstanceConfigBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 시간 순으로 정렬되는 64비트 메시지 ID 생성기 (Snowflake 방식).
+ * 구성: 41비트 타임스탬프(2024-01-01 기준 ms) | 10비트 워커 ID | 12비트 시퀀스.
+ * 워커 ID는 Eureka 인스턴스 ID에서 도출하며, 같은 서비스의 다른 인스턴스가 Eureka 메타데이터로 알린
+ * 워커 ID와 겹치지 않도록 다음 값을 사용함. 시계가 뒤로 가면 마지막 타임스탬프를 계속 사용하여 단조 증가를 유지함.
+ * 생성 시점에는 Eureka 레지스트리가 비어 있을 수 있으므로, 등록 후 레지스트리를 갱신할 때마다 충돌을 다시 확인함.
+ * 충돌하면 인스턴스 ID가 큰 쪽이 비어 있는 워커 ID로 옮겨 감.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnowflakeIdGenerator.class);
+
+    public static final String WORKER_ID_METADATA_KEY = "snowflake-worker-id";
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    static final int WORKER_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 문자열 ID가 사전순으로도 시간순 정렬되도록 long 최대 자릿수(19)로 0을 채움
+    private static final int ID_STRING_LENGTH = 19;
+
+    private final InstanceIdentity instanceIdentity;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<EurekaInstanceConfigBean> eurekaInstanceConfig;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+    private final String applicationName;
+    private final boolean workerIdConfigured;
+
+    private long workerId;
+
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    /**
+     * 생성자 주입을 통해 워커 ID를 결정함.
+     *
+     * @param instanceIdentity     현재 노드의 인스턴스 식별자
+     * @param discoveryClient      다른 인스턴스의 워커 ID를 조회할 디스커버리 클라이언트 (없으면 충돌 확인 생략)
+     * @param eurekaInstanceConfig   워커 ID를 메타데이터로 알릴 Eureka 인스턴스 설정 (없으면 생략)
+     * @param applicationInfoManager 등록 후 바뀐 워커 ID를 Eureka에 다시 알릴 관리자 (없으면 생략)
+     * @param applicationName        애플리케이션 이름
+     * @param configuredWorkerId     명시적으로 지정한 워커 ID, 음수이면 인스턴스 ID에서 도출
+     */
+    public SnowflakeIdGenerator(InstanceIdentity instanceIdentity,
+                                ObjectProvider<DiscoveryClient> discoveryClient,
+                                ObjectProvider<EurekaInstanceConfigBean> eurekaInstanceConfig,
+                                ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                                @Value("${spring.application.name}") String applicationName,
+                                @Value("${websocket.id.worker-id:-1}") long configuredWorkerId) {
+        if (configuredWorkerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("websocket.id.worker-id must be between 0 and " + MAX_WORKER_ID);
+        }
+        this.instanceIdentity = instanceIdentity;
+        this.discoveryClient = discoveryClient;
+        this.eurekaInstanceConfig = eurekaInstanceConfig;
+        this.applicationInfoManager = applicationInfoManager;
+        this.applicationName = applicationName;
+        this.workerIdConfigured = configuredWorkerId >= 0;
+        this.workerId = workerIdConfigured
+                ? configuredWorkerId
+                : deriveWorkerId(instanceIdentity.getInstanceId(), otherWorkerIds().keySet());
+
+        EurekaInstanceConfigBean config = eurekaInstanceConfig.getIfAvailable();
+        if (config != null) {
+            config.getMetadataMap().put(WORKER_ID_METADATA_KEY, String.valueOf(workerId));
+        }
+        logger.info("Snowflake worker ID for instance {}: {}", instanceIdentity.getInstanceId(), workerId);
+    }
+
+    /**
+     * Eureka 레지스트리를 갱신할 때마다 다른 인스턴스와 워커 ID가 겹치는지 다시 확인함.
+     * 동시에 시작한 인스턴스끼리는 생성 시점에 서로를 볼 수 없으므로, 겹치면 인스턴스 ID가 큰 쪽이 다른 값으로 옮겨
+     * 메타데이터를 다시 알림. 명시적으로 지정한 워커 ID는 바꾸지 않음.
+     *
+     * @param event 레지스트리 갱신 이벤트
+     */
+    @EventListener
+    public void onRegistryRefreshed(HeartbeatEvent event) {
+        if (workerIdConfigured) {
+            return;
+        }
+        String instanceId = instanceIdentity.getInstanceId();
+        Map<Long, String> others = otherWorkerIds();
+        long previous;
+        long reassigned;
+        synchronized (this) {
+            String holder = others.get(workerId);
+            if (holder == null || holder.compareTo(instanceId) > 0) {
+                return;
+            }
+            previous = workerId;
+            reassigned = deriveWorkerId(instanceId, others.keySet());
+            // lastTimestamp는 유지하므로 이 노드의 ID는 워커 ID가 바뀌어도 계속 증가함
+            workerId = reassigned;
+        }
+        logger.warn("Snowflake worker ID {} is also used by instance {}. Switching instance {} to worker ID {}.",
+                previous, others.get(previous), instanceId, reassigned);
+
+        EurekaInstanceConfigBean config = eurekaInstanceConfig.getIfAvailable();
+        if (config != null) {
+            config.getMetadataMap().put(WORKER_ID_METADATA_KEY, String.valueOf(reassigned));
+        }
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+        if (infoManager != null) {
+            infoManager.registerAppMetadata(Collections.singletonMap(WORKER_ID_METADATA_KEY, String.valueOf(reassigned)));
+        }
+    }
+
+    /**
+     * 새 ID를 생성함.
+     *
+     * @return 64비트 ID
+     */
+    public synchronized long nextId() {
+        long timestamp = Math.max(System.currentTimeMillis() - EPOCH_MILLIS, lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms에 시퀀스를 모두 사용하면 다음 ms를 미리 사용함 (대기 없이 단조 증가 유지)
+                timestamp = lastTimestamp + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return (timestamp << (WORKER_ID_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * 새 ID를 고정 길이 10진 문자열로 생성함. 문자열 비교와 숫자 비교의 순서가 같음.
+     *
+     * @return 19자리 ID 문자열
+     */
+    public String nextIdString() {
+        return toIdString(nextId());
+    }
+
+    /**
+     * @return 이 노드의 워커 ID
+     */
+    public synchronized long getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * 값이 nextIdString 형식(19자리 10진 문자열)인지 확인함.
+     * 이 형식끼리만 문자열 순서가 시간 순서와 같으므로, 순서 비교 전에 확인해야 함.
+     *
+     * @param value 확인할 값
+     * @return 19자리 10진 문자열이면 true
+     */
+    public static boolean isIdString(String value) {
+        if (value == null || value.length() != ID_STRING_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static String toIdString(long id) {
+        String digits = Long.toString(id);
+        if (digits.length() >= ID_STRING_LENGTH) {
+            return digits;
+        }
+        StringBuilder padded = new StringBuilder(ID_STRING_LENGTH);
+        for (int i = digits.length(); i < ID_STRING_LENGTH; i++) {
+            padded.append('0');
+        }
+        return padded.append(digits).toString();
+    }
+
+    private static long deriveWorkerId(String instanceId, Set<Long> taken) {
+        long candidate = (instanceId.hashCode() & 0x7fffffffL) % (MAX_WORKER_ID + 1);
+        for (int attempt = 0; attempt <= MAX_WORKER_ID && taken.contains(candidate); attempt++) {
+            candidate = (candidate + 1) % (MAX_WORKER_ID + 1);
+        }
+        return candidate;
+    }
+
+    /**
+     * 다른 인스턴스가 Eureka 메타데이터로 알린 워커 ID를 조회함.
+     * 같은 워커 ID를 여러 인스턴스가 알린 경우 인스턴스 ID가 가장 작은 쪽을 보유자로 봄.
+     *
+     * @return 워커 ID별 보유 인스턴스 ID
+     */
+    private Map<Long, String> otherWorkerIds() {
+        Map<Long, String> taken = new HashMap<>();
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        if (client == null) {
+            return taken;
+        }
+        String instanceId = instanceIdentity.getInstanceId();
+        try {
+            for (ServiceInstance instance : client.getInstances(applicationName)) {
+                String workerId = instance.getMetadata().get(WORKER_ID_METADATA_KEY);
+                if (workerId != null && !instanceId.equals(instance.getInstanceId())) {
+                    taken.merge(Long.parseLong(workerId), instance.getInstanceId(),
+                            (a, b) -> a.compareTo(b) <= 0 ? a : b);
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not read worker IDs of other instances. Error: {}", e.getMessage());
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,48 @@
+package chat.websocketserver.util;
+
+/**
+ * 서명 검증이 끝난 JWT에서 추출한 클레임.
+ * 같은 토큰을 다시 검증할 때 파싱과 HMAC 검증을 생략하기 위해 캐시에 보관됨.
+ */
+public class VerifiedClaims {
+
+    private final String username;
+    private final Long userId;
+    private final String jti;
+    private final long expiresAtMillis;
+
+    // 마지막으로 Redis에서 토큰 존재 여부(로그아웃 여부)를 확인한 시각 (jti가 없는 이전 토큰에만 사용)
+    private volatile long revocationCheckedAtMillis;
+
+    public VerifiedClaims(String username, Long userId, String jti, long expiresAtMillis, long revocationCheckedAtMillis) {
+        this.username = username;
+        this.userId = userId;
+        this.jti = jti;
+        this.expiresAtMillis = expiresAtMillis;
+        this.revocationCheckedAtMillis = revocationCheckedAtMillis;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public long getRevocationCheckedAtMillis() {
+        return revocationCheckedAtMillis;
+    }
+
+    public void setRevocationCheckedAtMillis(long revocationCheckedAtMillis) {
+        this.revocationCheckedAtMillis = revocationCheckedAtMillis;
+    }
+}
@@ -0,0 +1,76 @@
+package chat.websocketserver.broker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * CachingStompEncoder가 캐시 사용 여부와 관계없이 StompEncoder와 같은 바이트를 만드는지 확인하는 테스트.
+ */
+class CachingStompEncoderTest {
+
+    private final StompEncoder reference = new StompEncoder();
+    private final CachingStompEncoder encoder = new CachingStompEncoder();
+
+    private final byte[] payload = "{\"content\":\"hello: world\\n\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void perSessionHeadersKeepTheirPositionAmongSharedHeaders() {
+        for (String subscription : new String[]{"sub-0", "sub-1", "sub:2"}) {
+            Map<String, Object> headers = headers(
+                    "destination", "/topic/chatroom-1",
+                    "content-type", "application/json",
+                    "subscription", subscription,
+                    "message-id", subscription + "-42",
+                    "room-id", "1");
+            assertArrayEquals(reference.encode(headers, payload), encoder.encode(headers, payload));
+        }
+    }
+
+    @Test
+    void perSessionHeadersFirstAndLast() {
+        Map<String, Object> first = headers(
+                "subscription", "sub-0",
+                "destination", "/topic/chatroom-1",
+                "message-id", "m-1");
+        assertArrayEquals(reference.encode(first, payload), encoder.encode(first, payload));
+
+        Map<String, Object> last = headers(
+                "destination", "/topic/chatroom-1",
+                "message-id", "m-2",
+                "subscription", "sub-0");
+        assertArrayEquals(reference.encode(last, payload), encoder.encode(last, payload));
+    }
+
+    @Test
+    void nativeContentLengthIsReplacedByPayloadLength() {
+        Map<String, Object> headers = headers(
+                "content-length", "999",
+                "destination", "/topic/chatroom-1",
+                "subscription", "sub-0",
+                "message-id", "m-1");
+        assertArrayEquals(reference.encode(headers, payload), encoder.encode(headers, payload));
+    }
+
+    @Test
+    void changedSharedHeaderDoesNotReuseTemplate() {
+        Map<String, Object> before = headers("destination", "/topic/chatroom-1", "subscription", "sub-0", "x", "a");
+        Map<String, Object> after = headers("destination", "/topic/chatroom-1", "subscription", "sub-0", "x", "b");
+        encoder.encode(before, payload);
+        assertArrayEquals(reference.encode(after, payload), encoder.encode(after, payload));
+    }
+
+    private static Map<String, Object> headers(String... nameValues) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+        for (int i = 0; i < nameValues.length; i += 2) {
+            accessor.setNativeHeader(nameValues[i], nameValues[i + 1]);
+        }
+        return accessor.getMessageHeaders();
+    }
+}
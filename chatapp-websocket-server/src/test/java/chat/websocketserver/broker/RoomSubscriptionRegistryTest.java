@@ -0,0 +1,74 @@
+package chat.websocketserver.broker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MultiValueMap;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 채팅방 색인 레지스트리의 조회 스냅샷이 재사용되고, 구독 변경 시 무효화되는지 확인하는 테스트.
+ */
+class RoomSubscriptionRegistryTest {
+
+    private static final String ROOM = RoomDestinations.ROOM_DESTINATION_PREFIX + 42;
+
+    private final RoomSubscriptionRegistry registry = new RoomSubscriptionRegistry(4);
+
+    @Test
+    void repeatedLookupsReuseTheSnapshot() {
+        registry.registerSubscription(subscribe("s1", "sub-1", ROOM));
+
+        MultiValueMap<String, String> first = registry.findSubscriptions(send(ROOM));
+        MultiValueMap<String, String> second = registry.findSubscriptions(send(ROOM));
+
+        assertSame(first, second);
+        assertEquals(List.of("sub-1"), first.get("s1"));
+    }
+
+    @Test
+    void subscribeAndUnsubscribeInvalidateTheSnapshot() {
+        registry.registerSubscription(subscribe("s1", "sub-1", ROOM));
+        registry.findSubscriptions(send(ROOM));
+
+        registry.registerSubscription(subscribe("s2", "sub-2", ROOM));
+        MultiValueMap<String, String> afterSubscribe = registry.findSubscriptions(send(ROOM));
+        assertEquals(2, afterSubscribe.size());
+
+        registry.unregisterAllSubscriptions("s1");
+        MultiValueMap<String, String> afterDisconnect = registry.findSubscriptions(send(ROOM));
+        assertEquals(List.of("sub-2"), afterDisconnect.get("s2"));
+        assertEquals(1, afterDisconnect.size());
+
+        registry.unregisterSubscription(unsubscribe("s2", "sub-2"));
+        assertTrue(registry.findSubscriptions(send(ROOM)).isEmpty());
+    }
+
+    private static Message<?> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> unsubscribe(String sessionId, String subscriptionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> send(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,93 @@
+package chat.websocketserver.broker;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+
+/**
+ * 기본 구독 레지스트리와 채팅방 색인 레지스트리의 브로드캐스트 조회 비용을 비교하는 벤치마크.
+ * 테스트 단계에서 자동 실행되지 않으며, main 메서드로 직접 실행함.
+ * 채팅방당 구독자 수를 고정하고 전체 구독 수를 10k/50k/100k로 늘려 가며
+ * 모든 채팅방을 순회하는 브로드캐스트 한 건당 평균 조회 시간을 출력함.
+ */
+public class SubscriptionRegistryBenchmark {
+
+    private static final int[] SUBSCRIPTION_COUNTS = {10_000, 50_000, 100_000};
+    private static final int SUBSCRIBERS_PER_ROOM = 50;
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int MEASURE_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        for (int subscriptionCount : SUBSCRIPTION_COUNTS) {
+            int roomCount = subscriptionCount / SUBSCRIBERS_PER_ROOM;
+            double defaultNanos = measure(new DefaultSubscriptionRegistry(), subscriptionCount, roomCount);
+            double roomNanos = measure(new RoomSubscriptionRegistry(16), subscriptionCount, roomCount);
+            System.out.printf("subscriptions=%d rooms=%d default=%.1fus/broadcast room-indexed=%.1fus/broadcast%n",
+                    subscriptionCount, roomCount, defaultNanos / 1_000, roomNanos / 1_000);
+        }
+    }
+
+    private static double measure(SubscriptionRegistry registry, int subscriptionCount, int roomCount) {
+        for (int i = 0; i < subscriptionCount; i++) {
+            long roomId = i % roomCount;
+            registry.registerSubscription(subscribe("session-" + i, "sub-" + i, destination(roomId)));
+        }
+
+        Message<?>[] broadcasts = new Message<?>[roomCount];
+        for (int roomId = 0; roomId < roomCount; roomId++) {
+            broadcasts[roomId] = send(destination(roomId));
+        }
+
+        long found = 0;
+        // JIT 최적화가 적용되도록 일정 시간 동안 예열함
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        do {
+            found += broadcastAll(registry, broadcasts);
+        } while (System.nanoTime() < warmupEnd);
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            found += broadcastAll(registry, broadcasts);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (found == 0) {
+            throw new IllegalStateException("No subscriptions were matched");
+        }
+        return (double) elapsed / ((long) MEASURE_ROUNDS * roomCount);
+    }
+
+    private static long broadcastAll(SubscriptionRegistry registry, Message<?>[] broadcasts) {
+        long found = 0;
+        // 채팅방을 순회하며 조회하므로 기본 레지스트리의 목적지 캐시(1024개)를 넘어서는 상황을 재현함
+        // 브로커가 하는 것처럼 결과의 구독 ID까지 모두 순회하여 팬아웃 대상 수를 셈
+        for (Message<?> broadcast : broadcasts) {
+            for (List<String> subscriptionIds : registry.findSubscriptions(broadcast).values()) {
+                found += subscriptionIds.size();
+            }
+        }
+        return found;
+    }
+
+    private static String destination(long roomId) {
+        return RoomDestinations.ROOM_DESTINATION_PREFIX + roomId;
+    }
+
+    private static Message<?> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<?> send(String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
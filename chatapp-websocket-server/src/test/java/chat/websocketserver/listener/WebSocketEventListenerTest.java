@@ -0,0 +1,152 @@
+package chat.websocketserver.listener;
+
+import chat.websocketserver.event.UserPresenceEvent;
+import chat.websocketserver.service.ChatRoomUserService;
+import chat.websocketserver.service.PresenceGraceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 같은 사용자가 여러 세션(탭)에서 같은 채팅방을 구독할 때 JOIN/LEAVE가 한 번씩만 발행되는지 확인하는 테스트.
+ * Redis의 (채팅방, 사용자) 구독 수는 메모리 맵으로 흉내 냄.
+ */
+class WebSocketEventListenerTest {
+
+    private static final Long ROOM_ID = 10L;
+    private static final Long USER_ID = 1L;
+
+    private ChatRoomUserService chatRoomUserService;
+    private PresenceGraceService presenceGraceService;
+    private KafkaTemplate<String, UserPresenceEvent> kafkaTemplate;
+    private WebSocketEventListener listener;
+
+    private final Map<String, Long> subscriptionCounts = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        chatRoomUserService = mock(ChatRoomUserService.class);
+        presenceGraceService = mock(PresenceGraceService.class);
+        kafkaTemplate = mock(KafkaTemplate.class);
+
+        when(chatRoomUserService.acquireSubscription(anyLong(), anyLong()))
+                .thenAnswer(invocation -> subscriptionCounts.merge(key(invocation.getArgument(0), invocation.getArgument(1)), 1L, Long::sum));
+        when(chatRoomUserService.releaseSubscription(anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    String key = key(invocation.getArgument(0), invocation.getArgument(1));
+                    long count = subscriptionCounts.getOrDefault(key, 0L) - 1;
+                    if (count <= 0) {
+                        subscriptionCounts.remove(key);
+                        return 0L;
+                    }
+                    subscriptionCounts.put(key, count);
+                    return count;
+                });
+        when(chatRoomUserService.addUserToChatRoom(anyLong(), anyLong())).thenReturn(1L);
+        when(chatRoomUserService.removeUserFromChatRoom(anyLong(), anyLong())).thenReturn(2L);
+        // 유예 없이 바로 퇴장 처리함
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return null;
+        }).when(presenceGraceService).deferLeave(anyLong(), anyLong(), any(Runnable.class));
+
+        listener = new WebSocketEventListener(kafkaTemplate, chatRoomUserService, presenceGraceService);
+    }
+
+    @Test
+    void secondTabDoesNotJoinOrLeaveEarly() {
+        Map<String, Object> firstTab = session();
+        Map<String, Object> secondTab = session();
+
+        listener.handleSubscribeListener(subscribe("s1", "sub-0", firstTab));
+        listener.handleSubscribeListener(subscribe("s2", "sub-0", secondTab));
+
+        // 두 번째 탭은 구독 수만 늘리고 JOIN을 발행하지 않음
+        verify(chatRoomUserService, times(1)).addUserToChatRoom(ROOM_ID, USER_ID);
+        verify(kafkaTemplate, times(1)).send(eq("user-presence-events"), eq(String.valueOf(ROOM_ID)), any(UserPresenceEvent.class));
+
+        // 첫 번째 탭을 닫아도 두 번째 탭이 남아 있으므로 퇴장하지 않음
+        listener.handleWebSocketDisconnectListener(disconnect("s1", firstTab));
+        verify(presenceGraceService, never()).deferLeave(anyLong(), anyLong(), any(Runnable.class));
+        verify(chatRoomUserService, never()).removeUserFromChatRoom(anyLong(), anyLong());
+
+        // 마지막 탭의 구독이 해제되면 그때 퇴장함
+        listener.handleUnsubscribeListener(unsubscribe("s2", "sub-0", secondTab));
+        verify(chatRoomUserService, times(1)).removeUserFromChatRoom(ROOM_ID, USER_ID);
+        verify(kafkaTemplate, times(2)).send(eq("user-presence-events"), eq(String.valueOf(ROOM_ID)), any(UserPresenceEvent.class));
+    }
+
+    @Test
+    void leaveIsSkippedWhenMembershipWasKept() {
+        Map<String, Object> tab = session();
+        listener.handleSubscribeListener(subscribe("s1", "sub-0", tab));
+
+        // 유예 중 다른 노드에서 다시 구독하여 멤버십이 유지된 경우 제거 스크립트가 null을 반환함
+        when(chatRoomUserService.removeUserFromChatRoom(anyLong(), anyLong())).thenReturn(null);
+        listener.handleWebSocketDisconnectListener(disconnect("s1", tab));
+
+        verify(kafkaTemplate, times(1)).send(eq("user-presence-events"), eq(String.valueOf(ROOM_ID)), any(UserPresenceEvent.class));
+    }
+
+    private static Map<String, Object> session() {
+        Map<String, Object> attributes = new ConcurrentHashMap<>();
+        attributes.put("userId", USER_ID);
+        return attributes;
+    }
+
+    private static SessionSubscribeEvent subscribe(String sessionId, String subscriptionId, Map<String, Object> attributes) {
+        StompHeaderAccessor accessor = accessor(StompCommand.SUBSCRIBE, sessionId, attributes);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination("/topic/chatroom-" + ROOM_ID);
+        return new SessionSubscribeEvent(WebSocketEventListenerTest.class, message(accessor));
+    }
+
+    private static SessionUnsubscribeEvent unsubscribe(String sessionId, String subscriptionId, Map<String, Object> attributes) {
+        StompHeaderAccessor accessor = accessor(StompCommand.UNSUBSCRIBE, sessionId, attributes);
+        accessor.setSubscriptionId(subscriptionId);
+        return new SessionUnsubscribeEvent(WebSocketEventListenerTest.class, message(accessor));
+    }
+
+    private static SessionDisconnectEvent disconnect(String sessionId, Map<String, Object> attributes) {
+        StompHeaderAccessor accessor = accessor(StompCommand.DISCONNECT, sessionId, attributes);
+        return new SessionDisconnectEvent(WebSocketEventListenerTest.class, message(accessor), sessionId, CloseStatus.NORMAL);
+    }
+
+    private static StompHeaderAccessor accessor(StompCommand command, String sessionId, Map<String, Object> attributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId(sessionId);
+        accessor.setSessionAttributes(attributes);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static String key(Long roomId, Long userId) {
+        return roomId + ":" + userId;
+    }
+}
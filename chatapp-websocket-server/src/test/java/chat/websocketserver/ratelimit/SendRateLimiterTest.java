@@ -0,0 +1,35 @@
+package chat.websocketserver.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 채팅방 버킷이 거부한 전송이 사용자 한도를 소비하지 않는지, 거부 카운터가 채팅방마다 늘어나지 않는지 확인하는 테스트.
+ */
+class SendRateLimiterTest {
+
+    @Test
+    void roomRejectionDoesNotChargeUser() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // 사용자 버킷 2개, 채팅방 버킷 1개. 보충은 테스트 중에 일어나지 않을 만큼 느림
+        SendRateLimiter limiter = new SendRateLimiter(meterRegistry, true, 2, 0.001, 1, 0.001, 600);
+
+        assertTrue(limiter.tryAcquire(1L, 10L));
+        // 채팅방 10이 가득 차서 거부됨. 사용자 토큰은 되돌려져야 함
+        assertFalse(limiter.tryAcquire(1L, 10L));
+        assertFalse(limiter.tryAcquire(1L, 10L));
+
+        // 되돌리지 않았다면 사용자 버킷이 이미 비어 거부됨
+        assertTrue(limiter.tryAcquire(1L, 11L));
+        assertFalse(limiter.tryAcquire(1L, 12L));
+
+        assertEquals(2.0, meterRegistry.get("websocket.rate-limit.throttled").tag("scope", "room").counter().count());
+        assertEquals(1.0, meterRegistry.get("websocket.rate-limit.throttled").tag("scope", "user").counter().count());
+        // 채팅방 수와 무관하게 범위별 카운터 두 개만 등록됨
+        assertEquals(2, meterRegistry.find("websocket.rate-limit.throttled").counters().size());
+    }
+}
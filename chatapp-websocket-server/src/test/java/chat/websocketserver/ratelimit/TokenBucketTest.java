@@ -0,0 +1,111 @@
+package chat.websocketserver.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GCRA로 구현한 토큰 버킷이 같은 용량/보충 속도의 토큰 버킷과 같게 동작하는지 확인하는 테스트.
+ * 시각은 tryConsume에 직접 넘기므로 실제 시간과 무관하게 결정적으로 동작함.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long START = 5 * SECOND;
+
+    @Test
+    void allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+
+        assertTrue(bucket.tryConsume(START));
+        assertTrue(bucket.tryConsume(START));
+        assertTrue(bucket.tryConsume(START));
+        assertFalse(bucket.tryConsume(START));
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(2, 4); // 250ms마다 하나씩 보충
+        assertTrue(bucket.tryConsume(START));
+        assertTrue(bucket.tryConsume(START));
+
+        assertFalse(bucket.tryConsume(START + 249_000_000L));
+        assertTrue(bucket.tryConsume(START + 250_000_000L));
+        assertFalse(bucket.tryConsume(START + 250_000_000L));
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanBurst() {
+        TokenBucket bucket = new TokenBucket(3, 1);
+        assertTrue(bucket.tryConsume(START));
+
+        // 오래 쉬어도 용량 이상 쌓이지 않음
+        long later = START + 60 * SECOND;
+        assertTrue(bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later));
+        assertTrue(bucket.tryConsume(later));
+        assertFalse(bucket.tryConsume(later));
+    }
+
+    @Test
+    void sustainedRateMatchesRefillRate() {
+        TokenBucket bucket = new TokenBucket(1, 10);
+        int allowed = 0;
+        // 1ms 간격으로 1초 동안 요청하면 초당 보충량만큼만 허용됨
+        for (long t = 0; t < SECOND; t += 1_000_000L) {
+            if (bucket.tryConsume(START + t)) {
+                allowed++;
+            }
+        }
+        assertEquals(10, allowed);
+    }
+
+    @Test
+    void refundRestoresOneToken() {
+        TokenBucket bucket = new TokenBucket(2, 1);
+        assertTrue(bucket.tryConsume(START));
+        assertTrue(bucket.tryConsume(START));
+        assertFalse(bucket.tryConsume(START));
+
+        bucket.refund();
+
+        assertTrue(bucket.tryConsume(START));
+        assertFalse(bucket.tryConsume(START));
+    }
+
+    @Test
+    void concurrentConsumersNeverExceedBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 1);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (bucket.tryConsume(START)) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,180 @@
+package chat.websocketserver.session;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 일반적인 프레임 크기에서 permessage-deflate의 CPU 비용과 절감 대역폭을 측정하는 벤치마크.
+ * 테스트 단계에서 자동 실행되지 않으며, main 메서드로 직접 실행함.
+ * Tomcat PerMessageDeflate와 같은 방식(raw deflate, 기본 압축 수준, SYNC_FLUSH)으로 프레임을 하나씩 압축하며,
+ * 연결 내 압축 컨텍스트를 유지하는 경우(context takeover)와 프레임마다 초기화하는 경우를 비교함.
+ */
+public class DeflateFrameBenchmark {
+
+    private static final int FRAMES_PER_KIND = 256;
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final int MEASURE_ROUNDS = 5;
+
+    public static void main(String[] args) throws DataFormatException {
+        Random random = new Random(42);
+        System.out.printf("%-22s %9s %11s %11s %12s %12s%n",
+                "frame", "raw(B)", "ctx(B)", "no-ctx(B)", "ctx(us)", "no-ctx(us)");
+        report("chat message", frames(random, () -> messageFrame(random, 1)));
+        report("presence list (50)", frames(random, () -> presenceFrame(random, 50)));
+        report("batch (20 messages)", frames(random, () -> messageFrame(random, 20)));
+        report("batch (200 messages)", frames(random, () -> messageFrame(random, 200)));
+    }
+
+    private static void report(String kind, byte[][] frames) throws DataFormatException {
+        long raw = 0;
+        for (byte[] frame : frames) {
+            raw += frame.length;
+        }
+        Result takeover = measure(frames, false);
+        Result noTakeover = measure(frames, true);
+        System.out.printf("%-22s %9d %11d %11d %12.1f %12.1f%n", kind, raw / frames.length,
+                takeover.compressedBytes / frames.length, noTakeover.compressedBytes / frames.length,
+                takeover.nanosPerFrame / 1_000, noTakeover.nanosPerFrame / 1_000);
+    }
+
+    private static Result measure(byte[][] frames, boolean resetPerFrame) throws DataFormatException {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        do {
+            roundTrip(frames, resetPerFrame);
+        } while (System.nanoTime() < warmupEnd);
+
+        long compressed = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            compressed = roundTrip(frames, resetPerFrame);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(compressed, (double) elapsed / ((long) MEASURE_ROUNDS * frames.length));
+    }
+
+    /**
+     * 서버 쪽 압축과 클라이언트 쪽 해제를 모두 수행하고, 압축된 총 바이트 수를 반환함.
+     */
+    private static long roundTrip(byte[][] frames, boolean resetPerFrame) throws DataFormatException {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        Inflater inflater = new Inflater(true);
+        byte[] out = new byte[64 * 1024];
+        byte[] restored = new byte[512 * 1024];
+        long compressed = 0;
+        try {
+            for (byte[] frame : frames) {
+                deflater.setInput(frame);
+                int length = 0;
+                int written;
+                do {
+                    if (length == out.length) {
+                        out = Arrays.copyOf(out, out.length * 2);
+                    }
+                    written = deflater.deflate(out, length, out.length - length, Deflater.SYNC_FLUSH);
+                    length += written;
+                } while (length == out.length || !deflater.needsInput());
+                // SYNC_FLUSH 끝의 00 00 FF FF 4바이트는 전송하지 않음 (RFC 7692)
+                compressed += length - 4;
+
+                inflater.setInput(out, 0, length);
+                int restoredLength = 0;
+                while (!inflater.needsInput()) {
+                    restoredLength += inflater.inflate(restored, restoredLength, restored.length - restoredLength);
+                }
+                if (restoredLength != frame.length) {
+                    throw new IllegalStateException("Round trip mismatch: " + restoredLength + " != " + frame.length);
+                }
+
+                if (resetPerFrame) {
+                    deflater.reset();
+                    inflater.reset();
+                }
+            }
+        } finally {
+            deflater.end();
+            inflater.end();
+        }
+        return compressed;
+    }
+
+    private static byte[][] frames(Random random, Supplier<String> generator) {
+        byte[][] frames = new byte[FRAMES_PER_KIND][];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = generator.get().getBytes(StandardCharsets.UTF_8);
+        }
+        return frames;
+    }
+
+    private static String messageFrame(Random random, int count) {
+        long roomId = 1 + random.nextInt(1000);
+        StringBuilder body = new StringBuilder(count > 1 ? "[" : "");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"id\":\"").append(Long.toHexString(random.nextLong()))
+                    .append("\",\"roomId\":").append(roomId)
+                    .append(",\"sender\":\"user").append(random.nextInt(10_000))
+                    .append("\",\"content\":\"").append(sentence(random))
+                    .append("\",\"timestamp\":\"2024-05-").append(10 + random.nextInt(20))
+                    .append('T').append(10 + random.nextInt(14)).append(":").append(10 + random.nextInt(50))
+                    .append(":").append(10 + random.nextInt(50)).append(".").append(random.nextInt(1000))
+                    .append("\"}");
+        }
+        if (count > 1) {
+            body.append(']');
+        }
+        return stompFrame("/topic/chatroom-" + roomId, body.toString());
+    }
+
+    private static String presenceFrame(Random random, int users) {
+        long roomId = 1 + random.nextInt(1000);
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < users; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            int userId = random.nextInt(100_000);
+            body.append("{\"id\":").append(userId).append(",\"username\":\"user").append(userId).append("\"}");
+        }
+        body.append(']');
+        return stompFrame("/topic/chatroom-" + roomId + "-users", body.toString());
+    }
+
+    private static String stompFrame(String destination, String body) {
+        return "MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\nsubscription:sub-0"
+                + "\nmessage-id:" + Integer.toHexString(body.hashCode()) + "-1\ncontent-length:"
+                + body.getBytes(StandardCharsets.UTF_8).length + "\n\n" + body + "\0";
+    }
+
+    private static final String[] WORDS = {"안녕하세요", "오늘", "회의", "hello", "lunch", "ok", "ㅋㅋㅋ", "내일",
+            "meeting", "at", "3pm", "확인했습니다", "thanks", "좋아요", "where", "are", "you", "?", "곧", "도착"};
+
+    private static String sentence(Random random) {
+        int words = 3 + random.nextInt(12);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    private static final class Result {
+
+        private final long compressedBytes;
+        private final double nanosPerFrame;
+
+        private Result(long compressedBytes, double nanosPerFrame) {
+            this.compressedBytes = compressedBytes;
+            this.nanosPerFrame = nanosPerFrame;
+        }
+    }
+}